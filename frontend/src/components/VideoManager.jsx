@@ -171,8 +171,8 @@ const VideoManager = ({ courseId }) => {
       }
     }, 2000); // Check every 2 seconds
 
-    // Stop polling after 2 minutes
-    setTimeout(() => clearInterval(interval), 120000);
+    // Stop polling after 30 minutes; processing runs in the background and can take a while for large files
+    setTimeout(() => clearInterval(interval), 30 * 60 * 1000);
   };
 
   const setVideoPreview = async (videoId, isPreview) => {
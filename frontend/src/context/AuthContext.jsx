@@ -1,5 +1,9 @@
 import React, { createContext, useContext, useState, useEffect } from 'react';
 import { jwtDecode } from 'jwt-decode';
+import { authAPI } from '../utils/api';
+
+// Renew the access token this long before it expires
+const REFRESH_MARGIN_MS = 60 * 1000;
 
 const AuthContext = createContext();
 
@@ -17,6 +21,7 @@ export const AuthProvider = ({ children }) => {
   const [loading, setLoading] = useState(true);
 
   useEffect(() => {
+    let refreshTimer;
     if (token) {
       try {
         const decodedToken = jwtDecode(token);
@@ -29,6 +34,12 @@ export const AuthProvider = ({ children }) => {
             role: decodedToken.role,
             name: decodedToken.name
           });
+          // Access tokens are short-lived, renew shortly before expiry
+          const delay = Math.max(decodedToken.exp * 1000 - Date.now() - REFRESH_MARGIN_MS, 0);
+          refreshTimer = setTimeout(refreshSession, delay);
+        } else if (localStorage.getItem('refreshToken')) {
+          // Token expired but the session can still be renewed
+          refreshSession();
         } else {
           // Token expired
           logout();
@@ -39,10 +50,29 @@ export const AuthProvider = ({ children }) => {
       }
     }
     setLoading(false);
+    return () => clearTimeout(refreshTimer);
   }, [token]);
 
-  const login = (newToken) => {
+  const refreshSession = async () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+      logout();
+      return;
+    }
+    try {
+      const response = await authAPI.refresh(refreshToken);
+      login(response.data.token, response.data.refreshToken);
+    } catch (error) {
+      console.error('Session refresh failed:', error);
+      logout();
+    }
+  };
+
+  const login = (newToken, newRefreshToken) => {
     localStorage.setItem('token', newToken);
+    if (newRefreshToken) {
+      localStorage.setItem('refreshToken', newRefreshToken);
+    }
     setToken(newToken);
     
     try {
@@ -59,6 +89,11 @@ export const AuthProvider = ({ children }) => {
   };
 
   const logout = () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      authAPI.logout(refreshToken).catch(() => {});
+    }
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('token');
     setToken(null);
     setUser(null);
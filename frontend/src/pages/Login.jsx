@@ -31,9 +31,9 @@ const Login = () => {
 
     try {
       const response = await authAPI.login(formData);
-      const { token } = response.data;
+      const { token, refreshToken } = response.data;
       
-      login(token);
+      login(token, refreshToken);
       
       // Redirect based on role
       const userRole = JSON.parse(atob(token.split('.')[1])).role;
@@ -48,34 +48,49 @@ const StudentDashboard = () => {
   const [availableCourses, setAvailableCourses] = useState([]);
   const [coursesLoading, setCoursesLoading] = useState(true);
   const [coursesError, setCoursesError] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  const formatCourseLength = (videoCount, totalSeconds) => {
+    const videos = `${videoCount} video${videoCount === 1 ? '' : 's'}`;
+    if (!totalSeconds) {
+      return videos;
+    }
+    const hours = Math.floor(totalSeconds / 3600);
+    const minutes = Math.round((totalSeconds % 3600) / 60);
+    return `${videos} · ${hours > 0 ? `${hours}h ` : ''}${minutes}m`;
+  };
+
+  // The catalog is paginated: each page returns nextCursor until the last one
+  const fetchCoursePage = async (cursor) => {
+    const url = cursor ? `/api/courses/public?cursor=${encodeURIComponent(cursor)}` : '/api/courses/public';
+    const response = await fetch(url);
+    const result = await response.json();
+    if (!result.success) {
+      throw new Error(result.message || 'Failed to load courses');
+    }
+    // Transform backend data to match frontend expectations
+    const courses = result.courses.map(course => ({
+      id: course.id,
+      title: course.title,
+      instructor: course.instructorName,
+      description: course.description,
+      price: course.price,
+      duration: formatCourseLength(course.videoCount, course.totalDurationSeconds),
+      rating: 4.5, // Default rating since we don't have ratings yet
+      thumbnail: course.thumbnailUrl || placeholders.reactCourse,
+      createdAt: course.createdAt
+    }));
+    return { courses, nextCursor: result.nextCursor };
+  };
 
   useEffect(() => {
     const fetchAvailableCourses = async () => {
       try {
         setCoursesLoading(true);
-        const response = await fetch('/api/courses/public');
-        const result = await response.json();
-        
-        if (result.success) {
-          // Transform backend data to match frontend expectations
-          const transformedCourses = result.courses.map(course => ({
-            id: course.id,
-            title: course.title,
-            instructor: `${course.instructor.firstName} ${course.instructor.lastName}`,
-            instructorEmail: course.instructor.email,
-            description: course.description,
-            price: course.price,
-            duration: course.videos?.length ? `${course.videos.length} video${course.videos.length > 1 ? 's' : ''}` : '0 videos',
-            rating: 4.5, // Default rating since we don't have ratings yet
-            thumbnail: placeholders.reactCourse, // Use placeholder for now
-            videos: course.videos || [],
-            status: course.status,
-            createdAt: course.createdAt
-          }));
-          setAvailableCourses(transformedCourses);
-        } else {
-          setCoursesError('Failed to load courses');
-        }
+        const page = await fetchCoursePage(null);
+        setAvailableCourses(page.courses);
+        setNextCursor(page.nextCursor);
       } catch (error) {
         console.error('Error fetching courses:', error);
         setCoursesError('Error loading courses');
@@ -87,6 +102,23 @@ const StudentDashboard = () => {
     fetchAvailableCourses();
   }, []);
 
+  const loadMoreCourses = async () => {
+    if (!nextCursor || loadingMore) {
+      return;
+    }
+    try {
+      setLoadingMore(true);
+      const page = await fetchCoursePage(nextCursor);
+      setAvailableCourses(courses => [...courses, ...page.courses]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error fetching more courses:', error);
+      setCoursesError('Error loading courses');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const mockRecommendations = [
     {
       id: 4,
@@ -283,6 +315,17 @@ const StudentDashboard = () => {
               ))}
             </div>
           )}
+          {nextCursor && !coursesError && (
+            <div className="mt-6 text-center">
+              <button
+                onClick={loadMoreCourses}
+                disabled={loadingMore}
+                className="bg-white text-indigo-600 border border-indigo-600 px-4 py-2 rounded-md hover:bg-indigo-50 disabled:opacity-50"
+              >
+                {loadingMore ? 'Loading...' : 'Load more courses'}
+              </button>
+            </div>
+          )}
         </div>
 
         {/* Video Player Section */}
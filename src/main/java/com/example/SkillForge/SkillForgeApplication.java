@@ -3,9 +3,11 @@ package com.example.SkillForge;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.example.SkillForge.repository")
+@EnableScheduling
 public class SkillForgeApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,37 @@
+package com.example.SkillForge.config;
+
+import com.example.SkillForge.storage.CloudinaryEmulator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+
+/**
+ * Starts the local Cloudinary emulator for load tests. Enable with the
+ * {@code cloudinary-emulator} profile, which also points the Cloudinary client at it
+ * (see application-cloudinary-emulator.properties).
+ */
+@Configuration
+@Profile("cloudinary-emulator")
+public class CloudinaryEmulatorConfig {
+
+    @Bean(destroyMethod = "stop")
+    public CloudinaryEmulator cloudinaryEmulator(
+            @Value("${cloudinary.emulator.host:127.0.0.1}") String host,
+            @Value("${cloudinary.emulator.port:9099}") int port,
+            @Value("${cloudinary.emulator.threads:32}") int threads,
+            @Value("${cloudinary.emulator.max-request-bytes:104857600}") long maxRequestBytes,
+            @Value("${cloudinary.emulator.latency-ms:0}") long latencyMillis,
+            @Value("${cloudinary.emulator.latency-jitter-ms:0}") long latencyJitterMillis,
+            @Value("${cloudinary.emulator.bandwidth-bytes-per-second:0}") long bandwidthBytesPerSecond,
+            @Value("${cloudinary.emulator.error-rate:0}") double errorRate) throws IOException {
+        CloudinaryEmulator emulator = new CloudinaryEmulator(threads, maxRequestBytes);
+        emulator.setLatency(latencyMillis, latencyJitterMillis);
+        emulator.setBandwidthBytesPerSecond(bandwidthBytesPerSecond);
+        emulator.setErrorRate(errorRate);
+        emulator.start(host, port);
+        return emulator;
+    }
+}
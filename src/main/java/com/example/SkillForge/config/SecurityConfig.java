@@ -1,10 +1,14 @@
 package com.example.SkillForge.config;
 
+import com.example.SkillForge.security.AuthRateLimitFilter;
+import com.example.SkillForge.security.BoundedPasswordEncoder;
 import com.example.SkillForge.security.JwtAuthenticationFilter;
 import com.example.SkillForge.service.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -15,7 +19,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -32,6 +35,20 @@ public class SecurityConfig {
     
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
+    
+    // 0 means one hashing thread per core
+    @Value("${security.password-hashing.threads:0}")
+    private int hashingThreads;
+    
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+    
+    @Value("${security.password-hashing.max-wait-ms:5000}")
+    private long hashingMaxWaitMillis;
+    
+    @Value("${security.password-hashing.retry-after-seconds:1}")
+    private int hashingRetryAfterSeconds;
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -41,6 +58,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/courses/public").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/videos/*/play").permitAll()
+                        // Signed URL or token, checked in the controller
+                        .requestMatchers(HttpMethod.GET, "/api/videos/*/content").permitAll()
+                        .requestMatchers(HttpMethod.HEAD, "/api/videos/*/content").permitAll()
                         .requestMatchers("/api/student/**").hasRole("STUDENT")
                         .requestMatchers("/api/instructor/**").hasRole("INSTRUCTOR")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -50,7 +71,8 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
@@ -68,8 +90,15 @@ public class SecurityConfig {
     }
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(),
+                threads,
+                hashingQueueCapacity,
+                hashingMaxWaitMillis,
+                hashingRetryAfterSeconds
+        );
     }
     
     @Bean
@@ -3,13 +3,39 @@ package com.example.SkillForge.controller;
 import com.example.SkillForge.dto.DashboardResponse;
 import com.example.SkillForge.entity.User;
 import com.example.SkillForge.repository.UserRepository;
+import com.example.SkillForge.security.AuthRateLimitFilter;
+import com.example.SkillForge.security.BoundedPasswordEncoder;
+import com.example.SkillForge.security.StreamUrlSigner;
+import com.example.SkillForge.security.UserEpochRegistry;
+import com.example.SkillForge.service.CloudinaryVideoService;
+import com.example.SkillForge.service.CourseCatalogService;
+import com.example.SkillForge.service.CourseOwnershipIndex;
+import com.example.SkillForge.service.EntitlementIndex;
+import com.example.SkillForge.service.RefreshTokenService;
+import com.example.SkillForge.service.ResumableUploadService;
+import com.example.SkillForge.service.StorageOutboxService;
+import com.example.SkillForge.service.StoredAssetService;
+import com.example.SkillForge.service.UserCacheService;
+import com.example.SkillForge.service.VideoContentService;
+import com.example.SkillForge.service.VideoFaststartStage;
+import com.example.SkillForge.service.VideoMetadataProbe;
+import com.example.SkillForge.service.VideoOrderAllocator;
+import com.example.SkillForge.service.VideoOrderingService;
+import com.example.SkillForge.service.VideoProcessingPipeline;
+import com.example.SkillForge.storage.CloudinaryEmulator;
+import com.example.SkillForge.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Arrays;
@@ -25,6 +51,27 @@ import java.util.Map;
 public class AdminController {
     
     private final UserRepository userRepository;
+    private final UserEpochRegistry userEpochRegistry;
+    private final UserCacheService userCacheService;
+    private final JwtUtil jwtUtil;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthRateLimitFilter authRateLimitFilter;
+    private final EntitlementIndex entitlementIndex;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final VideoOrderAllocator videoOrderAllocator;
+    private final VideoOrderingService videoOrderingService;
+    private final StreamUrlSigner streamUrlSigner;
+    private final CloudinaryVideoService cloudinaryVideoService;
+    private final ResumableUploadService resumableUploadService;
+    private final VideoProcessingPipeline videoProcessingPipeline;
+    private final VideoContentService videoContentService;
+    private final VideoMetadataProbe videoMetadataProbe;
+    private final VideoFaststartStage videoFaststartStage;
+    private final StoredAssetService storedAssetService;
+    private final StorageOutboxService storageOutboxService;
+    private final CourseCatalogService courseCatalogService;
+    private final ObjectProvider<CloudinaryEmulator> cloudinaryEmulator;
     
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardResponse> getDashboard(Authentication authentication) {
@@ -76,6 +123,33 @@ public class AdminController {
         return ResponseEntity.ok(data);
     }
     
+    @GetMapping("/metrics")
+    public ResponseEntity<?> getMetrics() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("jwtClaimsCache", jwtUtil.getClaimsCacheStats());
+        data.put("userCache", userCacheService.stats());
+        data.put("userEpochs", userEpochRegistry.stats());
+        data.put("passwordHashing", passwordEncoder.stats());
+        data.put("authRateLimit", authRateLimitFilter.stats());
+        data.put("entitlements", entitlementIndex.stats());
+        data.put("courseOwnership", courseOwnershipIndex.stats());
+        data.put("videoOrder", videoOrderAllocator.stats());
+        data.put("videoReorder", videoOrderingService.stats());
+        data.put("streamUrlSigning", streamUrlSigner.stats());
+        data.put("videoUpload", cloudinaryVideoService.uploadStats());
+        data.put("resumableUploads", resumableUploadService.stats());
+        data.put("videoProcessing", videoProcessingPipeline.stats());
+        data.put("videoContent", videoContentService.stats());
+        data.put("videoMetadata", videoMetadataProbe.stats());
+        data.put("videoFaststart", videoFaststartStage.stats());
+        data.put("storedAssets", storedAssetService.stats());
+        data.put("storageOutbox", storageOutboxService.stats());
+        data.put("courseCatalog", courseCatalogService.stats());
+        cloudinaryEmulator.ifAvailable(emulator -> data.put("cloudinaryEmulator", emulator.stats()));
+        
+        return ResponseEntity.ok(data);
+    }
+    
     @GetMapping("/analytics")
     public ResponseEntity<?> getSystemAnalytics(Authentication authentication) {
         User user = (User) authentication.getPrincipal();
@@ -87,4 +161,57 @@ public class AdminController {
         
         return ResponseEntity.ok(data);
     }
+    
+    /**
+     * Enable or disable a user. Disabling also rejects every token already issued to them.
+     */
+    @PutMapping("/users/{userId}/enabled")
+    public ResponseEntity<?> setUserEnabled(@PathVariable Long userId, @RequestParam("enabled") boolean enabled) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "User not found");
+            return ResponseEntity.status(404).body(error);
+        }
+        
+        user.setEnabled(enabled);
+        if (!enabled) {
+            userEpochRegistry.revokeTokens(user);
+            refreshTokenService.revokeAll(user);
+        }
+        userCacheService.save(user);
+        userEpochRegistry.record(user);
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("success", true);
+        data.put("message", enabled ? "User enabled" : "User disabled");
+        data.put("userId", user.getId());
+        data.put("enabled", user.isEnabled());
+        return ResponseEntity.ok(data);
+    }
+    
+    /**
+     * Sign a user out everywhere by rejecting all tokens issued so far.
+     */
+    @PostMapping("/users/{userId}/revoke-tokens")
+    public ResponseEntity<?> revokeUserTokens(@PathVariable Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "User not found");
+            return ResponseEntity.status(404).body(error);
+        }
+        
+        userEpochRegistry.revokeTokens(user);
+        refreshTokenService.revokeAll(user);
+        userCacheService.save(user);
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("success", true);
+        data.put("message", "All tokens for this user have been revoked");
+        data.put("userId", user.getId());
+        return ResponseEntity.ok(data);
+    }
 }
\ No newline at end of file
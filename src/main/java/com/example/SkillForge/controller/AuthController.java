@@ -3,10 +3,14 @@ package com.example.SkillForge.controller;
 import com.example.SkillForge.dto.ApiResponse;
 import com.example.SkillForge.dto.AuthResponse;
 import com.example.SkillForge.dto.LoginRequest;
+import com.example.SkillForge.dto.RefreshTokenRequest;
 import com.example.SkillForge.dto.RegisterRequest;
+import com.example.SkillForge.security.PasswordHashingBusyException;
 import com.example.SkillForge.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,6 +27,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.register(request);// reg details format checking from file authresponse
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
@@ -34,14 +40,43 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
         } catch (RuntimeException e) {
+            // The authentication manager may wrap the overload signal
+            if (e.getCause() instanceof PasswordHashingBusyException busy) {
+                return tooManyRequests(busy);
+            }
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Invalid credentials"));
         }
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            AuthResponse response = authService.refresh(request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.ok(new ApiResponse(true, "Logged out"));
+    }
+    
     @GetMapping("/test")
     public ResponseEntity<ApiResponse> test() {
         return ResponseEntity.ok(new ApiResponse(true, "Auth API is working!"));
     }
+    
+    private ResponseEntity<ApiResponse> tooManyRequests(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, e.getMessage()));
+    }
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.example.SkillForge.controller;
 
+import com.example.SkillForge.dto.CatalogPage;
 import com.example.SkillForge.entity.Course;
 import com.example.SkillForge.entity.User;
 import com.example.SkillForge.repository.CourseRepository;
+import com.example.SkillForge.service.CloudinaryVideoService;
+import com.example.SkillForge.service.CourseCatalogService;
+import com.example.SkillForge.service.CourseOwnershipIndex;
+import com.example.SkillForge.service.VideoOrderAllocator;
 import com.example.SkillForge.enums.CourseStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,6 +29,10 @@ import java.util.Map;
 public class CourseController {
     
     private final CourseRepository courseRepository;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final VideoOrderAllocator videoOrderAllocator;
+    private final CloudinaryVideoService cloudinaryVideoService;
+    private final CourseCatalogService courseCatalogService;
     
 
     @GetMapping("/instructor")
@@ -94,6 +103,8 @@ public class CourseController {
             }
             
             Course savedCourse = courseRepository.save(course);
+            courseOwnershipIndex.courseCreated(savedCourse);
+            courseCatalogService.courseChanged(savedCourse.getId());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -128,14 +139,18 @@ public class CourseController {
         try {
             User instructor = (User) auth.getPrincipal();
             
-            Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-            
             // Check if instructor owns the course
-            if (!course.getInstructor().getId().equals(instructor.getId())) {
+            Long ownerId = courseOwnershipIndex.instructorOf(courseId);
+            if (ownerId == null) {
+                throw new RuntimeException("Course not found");
+            }
+            if (!ownerId.equals(instructor.getId())) {
                 throw new SecurityException("You can only update your own courses");
             }
             
+            Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+            
             // Update fields
             if (updates.containsKey("title")) {
                 course.setTitle((String) updates.get("title"));
@@ -151,6 +166,7 @@ public class CourseController {
             }
             
             Course updatedCourse = courseRepository.save(course);
+            courseCatalogService.courseChanged(courseId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -181,15 +197,21 @@ public class CourseController {
         try {
             User instructor = (User) auth.getPrincipal();
             
-            Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-            
             // Check if instructor owns the course
-            if (!course.getInstructor().getId().equals(instructor.getId())) {
+            Long ownerId = courseOwnershipIndex.instructorOf(courseId);
+            if (ownerId == null) {
+                throw new RuntimeException("Course not found");
+            }
+            if (!ownerId.equals(instructor.getId())) {
                 throw new SecurityException("You can only delete your own courses");
             }
             
-            courseRepository.delete(course);
+            Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+            
+            cloudinaryVideoService.deleteCourse(course);
+            courseOwnershipIndex.courseDeleted(courseId);
+            videoOrderAllocator.courseDeleted(courseId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -211,19 +233,29 @@ public class CourseController {
     }
     
     /**
-     * Get all published courses (for students and public)
+     * Published courses for the public catalog, newest first, one page at a time.
+     * Pass the returned nextCursor as ?cursor= to get the next page.
      */
     @GetMapping("/public")
-    public ResponseEntity<?> getPublishedCourses() {
+    public ResponseEntity<?> getPublishedCourses(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
         try {
-            List<Course> courses = courseRepository.findByStatus(CourseStatus.PUBLISHED);
+            CatalogPage page = courseCatalogService.publishedCourses(cursor, limit);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("courses", courses);
+            response.put("courses", page.getCourses());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.getNextCursor() != null);
             
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -231,4 +263,4 @@ public class CourseController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
-}
\ No newline at end of file
+}
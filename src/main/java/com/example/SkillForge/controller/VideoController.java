@@ -1,12 +1,29 @@
 package com.example.SkillForge.controller;
 
+import com.example.SkillForge.dto.SignedVideoUrl;
+import com.example.SkillForge.dto.VideoReorderRequest;
+import com.example.SkillForge.dto.VideoUrlBatchRequest;
+import com.example.SkillForge.dto.VideoUrlResult;
 import com.example.SkillForge.entity.Video;
 import com.example.SkillForge.entity.Course;
 import com.example.SkillForge.entity.User;
 import com.example.SkillForge.service.VideoServiceNew;
 import com.example.SkillForge.service.CloudinaryVideoService;
+import com.example.SkillForge.service.CourseOwnershipIndex;
+import com.example.SkillForge.service.VideoContent;
+import com.example.SkillForge.service.VideoContentService;
+import com.example.SkillForge.service.VideoOrderingService;
+import com.example.SkillForge.service.VideoProcessingQueueFullException;
 import com.example.SkillForge.repository.CourseRepository;
+import com.example.SkillForge.util.ByteRange;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,9 +31,14 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/videos")
@@ -24,9 +46,23 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class VideoController {
     
+    // Stop caching a signed URL a little before it expires so players never start with a dead link
+    private static final long STREAM_URL_EXPIRY_MARGIN_SECONDS = 60;
+    
+    // Tomcat's sendfile request attributes (NIO connector, no compression)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoController.class);
+    
     private final VideoServiceNew videoService;
     private final CloudinaryVideoService cloudinaryVideoService;
     private final CourseRepository courseRepository;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final VideoOrderingService videoOrderingService;
+    private final VideoContentService videoContentService;
     
     /**
      * Instructor adds YouTube video to course
@@ -85,6 +121,40 @@ public class VideoController {
         }
     }
     
+    /**
+     * Reorder lessons of a course (Instructor only). Moves are applied in order in one transaction.
+     */
+    @PutMapping("/course/{courseId}/order")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<?> reorderCourseVideos(
+            @PathVariable Long courseId,
+            @Valid @RequestBody VideoReorderRequest request,
+            Authentication auth) {
+        
+        try {
+            User instructor = (User) auth.getPrincipal();
+            Map<Long, Integer> orderIndexes = videoOrderingService.reorder(courseId, request.getMoves(), instructor);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Videos reordered successfully");
+            response.put("orderIndexes", orderIndexes);
+            
+            return ResponseEntity.ok(response);
+        
+        } catch (SecurityException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Get video URL for student (with payment check)
      */
@@ -129,7 +199,7 @@ public class VideoController {
             
             // Check if user owns this video (instructor can only see their own videos)
             if ("INSTRUCTOR".equals(user.getRole().name()) && 
-                !video.getCourse().getInstructor().getId().equals(user.getId())) {
+                !courseOwnershipIndex.isOwner(video.getCourse().getId(), user.getId())) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "Access denied");
@@ -138,16 +208,21 @@ public class VideoController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", Map.of(
-                "id", video.getId(),
-                "title", video.getTitle(),
-                "status", video.getStatus(),
-                "videoUrl", video.getVideoUrl(),
-                "thumbnailUrl", video.getThumbnailUrl(),
-                "duration", video.getDurationSeconds(),
-                "fileSize", video.getFileSize(),
-                "orderIndex", video.getOrderIndex()
-            ));
+            // HashMap rather than Map.of: duration/url/thumbnail are null until processing finishes
+            Map<String, Object> data = new HashMap<>();
+            data.put("id", video.getId());
+            data.put("title", video.getTitle());
+            data.put("status", video.getStatus());
+            data.put("videoUrl", video.getVideoUrl());
+            data.put("thumbnailUrl", video.getThumbnailUrl());
+            data.put("duration", video.getDurationSeconds());
+            data.put("fileSize", video.getFileSize());
+            data.put("orderIndex", video.getOrderIndex());
+            data.put("width", video.getWidth());
+            data.put("height", video.getHeight());
+            data.put("bitrateKbps", video.getBitrateKbps());
+            data.put("videoQuality", video.getVideoQuality());
+            response.put("data", data);
             
             return ResponseEntity.ok(response);
             
@@ -160,7 +235,8 @@ public class VideoController {
     }
     
     /**
-     * Upload video file to Cloudinary (Instructor only)
+     * Upload video file (Instructor only). Returns 202 with the video in UPLOADING state;
+     * poll GET /api/videos/{videoId} until its status is READY or FAILED.
      */
     @PostMapping("/upload")
     @PreAuthorize("hasRole('INSTRUCTOR')")
@@ -180,7 +256,7 @@ public class VideoController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Video uploaded successfully");
+            response.put("message", "Video upload accepted and is being processed");
             
             // Create a simplified video response to avoid circular references
             Map<String, Object> videoInfo = new HashMap<>();
@@ -195,8 +271,15 @@ public class VideoController {
             
             response.put("video", videoInfo);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
             
+        } catch (VideoProcessingQueueFullException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
         } catch (SecurityException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -223,13 +306,15 @@ public class VideoController {
     public ResponseEntity<?> getVideoStreamUrl(@PathVariable Long videoId, Authentication auth) {
         try {
             User user = (User) auth.getPrincipal();
-            String videoUrl = cloudinaryVideoService.getSecureVideoUrl(videoId, user);
+            SignedVideoUrl videoUrl = cloudinaryVideoService.getSecureVideoUrl(videoId, user);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("videoUrl", videoUrl);
+            response.put("videoUrl", videoUrl.getVideoUrl());
+            response.put("expiresAt", videoUrl.getExpiresAt());
             
-            return ResponseEntity.ok(response);
+            // Signed URLs stay valid until expiresAt, so the player can reuse this answer
+            return ResponseEntity.ok().cacheControl(streamCacheControl(videoUrl.getExpiresAt())).body(response);
             
         } catch (SecurityException e) {
             Map<String, Object> error = new HashMap<>();
@@ -245,6 +330,160 @@ public class VideoController {
         }
     }
     
+    /**
+     * Redirect a signed stream URL to the stored video. Public: the signature carries the access check,
+     * so video elements can load it without an Authorization header.
+     */
+    @GetMapping("/{videoId}/play")
+    public ResponseEntity<?> playSignedVideo(
+            @PathVariable Long videoId,
+            @RequestParam("uid") Long userId,
+            @RequestParam("exp") long expiresAt,
+            @RequestParam("sig") String signature) {
+        
+        try {
+            String videoUrl = cloudinaryVideoService.getPlaybackUrl(videoId, userId, expiresAt, signature);
+            
+            return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(videoUrl))
+                .cacheControl(streamCacheControl(expiresAt))
+                .build();
+        
+        } catch (SecurityException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+    
+    /**
+     * Serve the bytes of a video kept in local or in-memory storage, with Range/206 support so
+     * seeking is a small partial read. Access is either a signed URL (uid/exp/sig, as issued by
+     * /stream) or a bearer token plus the usual preview/payment check.
+     */
+    @GetMapping("/{videoId}/content")
+    public ResponseEntity<?> getVideoContent(
+            @PathVariable Long videoId,
+            @RequestParam(value = "uid", required = false) Long userId,
+            @RequestParam(value = "exp", required = false) Long expiresAt,
+            @RequestParam(value = "sig", required = false) String signature,
+            Authentication auth,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        
+        Video video;
+        VideoContent content;
+        try {
+            if (signature != null) {
+                video = cloudinaryVideoService.findSignedVideo(videoId, userId, expiresAt == null ? 0 : expiresAt, signature);
+            } else if (auth != null && auth.getPrincipal() instanceof User user) {
+                video = cloudinaryVideoService.findPlayableVideo(videoId, user);
+            } else {
+                throw new SecurityException("Authentication required");
+            }
+            content = videoContentService.resolve(video);
+        } catch (SecurityException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        
+        CacheControl cacheControl = signature != null ? streamCacheControl(expiresAt) : CacheControl.noCache().cachePrivate();
+        String etag = content.getEtag();
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.equals(etag) || ifNoneMatch.equals("*"))) {
+            videoContentService.recordNotModified();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        
+        long size = content.getSizeBytes();
+        ByteRange range = null;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // Only honour Range when the client's copy is still current; otherwise send the whole file
+        if (ifRange == null || ifRange.equals(etag)) {
+            try {
+                range = ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+            }
+        }
+        long start = range != null ? range.getStart() : 0;
+        long length = range != null ? range.length() : size;
+        
+        response.setStatus(range != null ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value());
+        response.setContentType("video/mp4");
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (range != null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(size));
+        }
+        videoContentService.recordResponse(range != null);
+        
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return null; // Response already written
+        }
+        try {
+            if (content.getLocalPath() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Let the connector send the file straight from the page cache once the handler returns
+                request.setAttribute(SENDFILE_FILENAME, content.getLocalPath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, start + length);
+                videoContentService.recordSendfile(length);
+            } else {
+                videoContentService.copyRange(content, start, length, Channels.newChannel(response.getOutputStream()));
+            }
+        } catch (IOException e) {
+            // Usually the player dropped the connection while seeking; nothing left to answer
+            logger.debug("Streaming video {} stopped: {}", videoId, e.getMessage());
+        }
+        return null; // Response already written
+    }
+    
+    /**
+     * Resolve stream URLs for a list of videos in one call (e.g. a whole course playlist)
+     */
+    @PostMapping("/urls")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR')")
+    public ResponseEntity<?> getVideoStreamUrls(@Valid @RequestBody VideoUrlBatchRequest request, Authentication auth) {
+        try {
+            User user = (User) auth.getPrincipal();
+            List<VideoUrlResult> results = cloudinaryVideoService.getSecureVideoUrls(request.getVideoIds(), user);
+            Long expiresAt = results.stream()
+                .map(VideoUrlResult::getExpiresAt)
+                .filter(Objects::nonNull)
+                .min(Long::compare)
+                .orElse(null);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("results", results);
+            
+            return ResponseEntity.ok().cacheControl(streamCacheControl(expiresAt)).body(response);
+        
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Set video as free preview (Instructor only)
      */
@@ -308,6 +547,14 @@ public class VideoController {
         }
     }
     
+    private CacheControl streamCacheControl(Long expiresAt) {
+        if (expiresAt == null) {
+            return CacheControl.noStore();
+        }
+        long maxAge = expiresAt - System.currentTimeMillis() / 1000 - STREAM_URL_EXPIRY_MARGIN_SECONDS;
+        return maxAge > 0 ? CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePrivate() : CacheControl.noStore();
+    }
+    
     // DTO for adding video
     public static class AddVideoRequest {
         public String title;
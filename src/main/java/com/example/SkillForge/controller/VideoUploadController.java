@@ -0,0 +1,177 @@
+package com.example.SkillForge.controller;
+
+import com.example.SkillForge.dto.CreateUploadRequest;
+import com.example.SkillForge.entity.User;
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.service.ResumableUploadService;
+import com.example.SkillForge.service.UploadOffsetMismatchException;
+import com.example.SkillForge.service.UploadSession;
+import com.example.SkillForge.service.VideoProcessingQueueFullException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resumable, chunked video uploads for files too large to send in one request.
+ * Create a session, PUT chunks at the current offset (with X-Chunk-SHA256),
+ * GET the session to find where to resume, then POST complete.
+ */
+@RestController
+@RequestMapping("/api/videos/uploads")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class VideoUploadController {
+    
+    private static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+    
+    private final ResumableUploadService resumableUploadService;
+    
+    @PostMapping
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<?> createUpload(@Valid @RequestBody CreateUploadRequest request, Authentication auth) {
+        try {
+            User instructor = (User) auth.getPrincipal();
+            UploadSession session = resumableUploadService.create(request, instructor);
+            
+            Map<String, Object> response = sessionBody(session);
+            response.put("message", "Upload session created");
+            response.put("maxChunkBytes", resumableUploadService.getMaxChunkBytes());
+            
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        
+        } catch (SecurityException e) {
+            return error(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create upload: " + e.getMessage());
+        }
+    }
+    
+    @GetMapping("/{uploadId}")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<?> getUpload(@PathVariable String uploadId, Authentication auth) {
+        try {
+            User instructor = (User) auth.getPrincipal();
+            return ResponseEntity.ok(sessionBody(resumableUploadService.get(uploadId, instructor)));
+        
+        } catch (SecurityException e) {
+            return error(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+    
+    @PutMapping(value = "/{uploadId}", consumes = "application/octet-stream")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<?> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestParam("offset") long offset,
+            @RequestHeader(value = CHUNK_CHECKSUM_HEADER, required = false) String checksum,
+            HttpServletRequest request,
+            Authentication auth) {
+        
+        try {
+            User instructor = (User) auth.getPrincipal();
+            long length = request.getContentLengthLong();
+            if (length < 0) {
+                throw new IllegalArgumentException("Content-Length is required");
+            }
+            UploadSession session = resumableUploadService.writeChunk(
+                uploadId, offset, length, checksum, request.getInputStream(), instructor);
+            
+            return ResponseEntity.ok(sessionBody(session));
+        
+        } catch (UploadOffsetMismatchException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            error.put("offset", e.getCurrentOffset());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (SecurityException e) {
+            return error(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+    
+    @PostMapping("/{uploadId}/complete")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId, Authentication auth) {
+        try {
+            User instructor = (User) auth.getPrincipal();
+            Video video = resumableUploadService.complete(uploadId, instructor);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Video upload accepted and is being processed");
+            response.put("video", video);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        
+        } catch (VideoProcessingQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("success", false, "message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.CONFLICT, e.getMessage());
+        } catch (SecurityException e) {
+            return error(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Upload failed: " + e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/{uploadId}")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId, Authentication auth) {
+        try {
+            User instructor = (User) auth.getPrincipal();
+            resumableUploadService.abort(uploadId, instructor);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Upload cancelled");
+            
+            return ResponseEntity.ok(response);
+        
+        } catch (SecurityException e) {
+            return error(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (Exception e) {
+            return error(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+    
+    private Map<String, Object> sessionBody(UploadSession session) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("uploadId", session.getId());
+        body.put("offset", session.getOffset());
+        body.put("totalBytes", session.getTotalBytes());
+        body.put("complete", session.isComplete());
+        body.put("expiresAt", resumableUploadService.expiresAtMillis(session));
+        return body;
+    }
+    
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
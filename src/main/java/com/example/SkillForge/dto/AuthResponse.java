@@ -17,6 +17,7 @@ public class AuthResponse {
     private String firstName;
     private String lastName;
     private Role role;
+    private String refreshToken;
     
     public AuthResponse(String token, Long id, String email, String firstName, String lastName, Role role) {
         this.token = token;
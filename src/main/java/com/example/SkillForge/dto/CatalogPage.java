@@ -0,0 +1,16 @@
+package com.example.SkillForge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogPage {
+    
+    private List<CourseSummary> courses;
+    private String nextCursor; // Pass back as ?cursor= for the next page; null on the last page
+}
@@ -0,0 +1,41 @@
+package com.example.SkillForge.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Public catalog entry: what a course card needs, without the instructor entity or the videos.
+ * Immutable, since cards are shared by every reader of the in-memory catalog.
+ */
+@Value
+public class CourseSummary {
+    
+    Long id;
+    String title;
+    String description;
+    BigDecimal price;
+    String thumbnailUrl;
+    LocalDateTime createdAt;
+    Long instructorId;
+    String instructorName;
+    long videoCount;
+    long totalDurationSeconds;
+    
+    // Used by the JPQL constructor expressions in CourseRepository
+    public CourseSummary(Long id, String title, String description, BigDecimal price, String thumbnailUrl,
+                         LocalDateTime createdAt, Long instructorId, String instructorFirstName,
+                         String instructorLastName, Long videoCount, Long totalDurationSeconds) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.price = price;
+        this.thumbnailUrl = thumbnailUrl;
+        this.createdAt = createdAt;
+        this.instructorId = instructorId;
+        this.instructorName = (instructorFirstName + " " + instructorLastName).trim();
+        this.videoCount = videoCount != null ? videoCount : 0;
+        this.totalDurationSeconds = totalDurationSeconds != null ? totalDurationSeconds : 0;
+    }
+}
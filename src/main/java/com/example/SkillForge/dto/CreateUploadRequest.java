@@ -0,0 +1,22 @@
+package com.example.SkillForge.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class CreateUploadRequest {
+    
+    @NotNull(message = "Course is required")
+    private Long courseId;
+    
+    @NotBlank(message = "Title is required")
+    private String title;
+    
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalBytes;
+    
+    private String contentType; // e.g. "video/mp4"
+}
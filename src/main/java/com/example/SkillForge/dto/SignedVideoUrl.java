@@ -0,0 +1,14 @@
+package com.example.SkillForge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignedVideoUrl {
+    
+    private String videoUrl;
+    private Long expiresAt; // Epoch seconds, null when URL signing is disabled
+}
@@ -0,0 +1,28 @@
+package com.example.SkillForge.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VideoReorderRequest {
+    
+    @NotEmpty(message = "At least one move is required")
+    @Valid
+    private List<Move> moves;
+    
+    /**
+     * Place videoId directly after afterVideoId; a null afterVideoId moves it to the front.
+     */
+    @Data
+    public static class Move {
+        
+        @NotNull(message = "videoId is required")
+        private Long videoId;
+        
+        private Long afterVideoId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.SkillForge.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VideoUrlBatchRequest {
+    
+    @NotEmpty(message = "At least one video id is required")
+    private List<Long> videoIds;
+}
@@ -0,0 +1,26 @@
+package com.example.SkillForge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VideoUrlResult {
+    
+    private Long videoId;
+    private boolean success;
+    private String videoUrl;
+    private Long expiresAt; // Epoch seconds, null when URL signing is disabled
+    private boolean paymentRequired;
+    private String message;
+    
+    public static VideoUrlResult granted(Long videoId, SignedVideoUrl url) {
+        return new VideoUrlResult(videoId, true, url.getVideoUrl(), url.getExpiresAt(), false, null);
+    }
+    
+    public static VideoUrlResult denied(Long videoId, boolean paymentRequired, String message) {
+        return new VideoUrlResult(videoId, false, null, null, paymentRequired, message);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.SkillForge.entity;
 
 import com.example.SkillForge.enums.PaymentStatus;
+import com.example.SkillForge.service.EnrollmentEntitlementListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "enrollments")
+@EntityListeners(EnrollmentEntitlementListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,57 @@
+package com.example.SkillForge.entity;
+
+import com.example.SkillForge.enums.StorageOperation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A side effect on video storage, recorded in the same transaction as the database change
+ * that needs it and carried out later by the outbox dispatcher.
+ */
+@Entity
+@Table(name = "storage_outbox", indexes = {
+    @Index(name = "idx_storage_outbox_due", columnList = "storage_type, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StorageOperation operation;
+    
+    @Column(name = "storage_type", nullable = false, length = 20)
+    private String storageType;
+    
+    @Column(name = "storage_key", nullable = false)
+    private String storageKey;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.SkillForge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored video file, shared by every Video whose upload had the same content.
+ * {@code refCount} is the number of videos using it; the file is removed with the last one.
+ */
+@Entity
+@Table(name = "stored_assets", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_stored_assets_digest", columnNames = {"content_digest", "storage_type"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredAsset {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Hex SHA-256 of the uploaded file, as received
+    @Column(name = "content_digest", nullable = false, length = 64)
+    private String contentDigest;
+    
+    @Column(name = "storage_type", nullable = false, length = 20)
+    private String storageType;
+    
+    @Column(name = "storage_key", nullable = false)
+    private String storageKey;
+    
+    @Column(name = "playback_url", length = 500)
+    private String playbackUrl;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+    
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+    
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
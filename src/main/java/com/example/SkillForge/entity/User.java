@@ -43,6 +43,9 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private boolean enabled = true;
     
+    @Column(name = "tokens_valid_after")
+    private Long tokensValidAfter; // Epoch millis; tokens issued before this are rejected
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -11,7 +11,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "videos")
+@Table(name = "videos", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_videos_course_order", columnNames = {"course_id", "order_index"})
+}, indexes = {
+    @Index(name = "idx_videos_content_digest", columnList = "content_digest")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,6 +40,12 @@ public class Video {
     @Column(name = "video_url", nullable = false, length = 500)
     private String videoUrl; // URL to video file (AWS S3, YouTube, etc.)
     
+    @Column(name = "storage_key", length = 255)
+    private String storageKey; // Key in the configured VideoStorage, null for externally hosted videos
+    
+    @Column(name = "content_digest", length = 64)
+    private String contentDigest; // SHA-256 of the upload; videos with the same digest share one StoredAsset
+    
     @Column(name = "thumbnail_url", length = 500)
     private String thumbnailUrl; // Video thumbnail image URL
     
@@ -48,6 +58,15 @@ public class Video {
     @Column(name = "video_quality")
     private String videoQuality; // "720p", "1080p", etc.
     
+    @Column(name = "width")
+    private Integer width; // Pixels, from the uploaded file
+    
+    @Column(name = "height")
+    private Integer height;
+    
+    @Column(name = "bitrate_kbps")
+    private Integer bitrateKbps; // Average over the file
+    
     @Enumerated(EnumType.STRING)
     private VideoType videoType = VideoType.LESSON;
     
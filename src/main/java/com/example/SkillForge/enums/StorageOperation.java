@@ -0,0 +1,5 @@
+package com.example.SkillForge.enums;
+
+public enum StorageOperation {
+    DELETE
+}
@@ -0,0 +1,157 @@
+package com.example.SkillForge.media;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rewrites an MP4 whose moov box comes after mdat so that moov comes first, as players need
+ * it before they can show the first frame. Only moov is held in memory (it is small next to
+ * the media); everything else is copied file to file with {@link FileChannel#transferTo}.
+ * Chunk offsets (stco/co64) pointing between the first mdat and the old moov are shifted by the
+ * size of moov, since moov is the only thing that moves in front of them; media stored after
+ * the old moov stays where it was.
+ */
+public final class Mp4Faststart {
+    
+    private static final Set<Integer> CONTAINERS = Set.of(
+        Mp4Probe.fourCc("moov"), Mp4Probe.fourCc("trak"), Mp4Probe.fourCc("mdia"),
+        Mp4Probe.fourCc("minf"), Mp4Probe.fourCc("stbl"));
+    private static final int STCO = Mp4Probe.fourCc("stco");
+    private static final int CO64 = Mp4Probe.fourCc("co64");
+    private static final int CMOV = Mp4Probe.fourCc("cmov");
+    private static final int MAX_TOP_LEVEL_BOXES = 10_000;
+    
+    private Mp4Faststart() {
+    }
+    
+    /**
+     * Write a faststart copy of {@code source} to {@code target}. Returns false, and writes nothing,
+     * when the file is not an MP4, is already faststart, or cannot be rewritten safely (moov larger
+     * than {@code maxMoovBytes}, compressed moov, 32-bit chunk offsets that would overflow).
+     */
+    public static boolean rewrite(Path source, Path target, long maxMoovBytes) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long fileSize = in.size();
+            List<Mp4Probe.Box> boxes = new ArrayList<>();
+            Mp4Probe.Box moov = null;
+            Mp4Probe.Box mdat = null;
+            long position = 0;
+            for (Mp4Probe.Box box = Mp4Probe.Box.read(in, 0, fileSize); box != null; box = Mp4Probe.Box.read(in, box.end(), fileSize)) {
+                if (boxes.size() >= MAX_TOP_LEVEL_BOXES) {
+                    return false;
+                }
+                boxes.add(box);
+                if (moov == null && box.is("moov")) {
+                    moov = box;
+                } else if (mdat == null && box.is("mdat")) {
+                    mdat = box;
+                }
+                position = box.end();
+            }
+            // Rewrite only files we understood completely, with exactly one moov after the media
+            if (position != fileSize || moov == null || mdat == null || moov.start < mdat.start
+                    || moov.size > maxMoovBytes || boxes.stream().filter(box -> box.is("moov")).count() > 1) {
+                return false;
+            }
+            
+            ByteBuffer movie = Mp4Probe.readFully(in, moov.start, (int) moov.size);
+            if (movie.limit() != moov.size || !shiftChunkOffsets(movie, moov.headerSize, (int) moov.size, mdat.start, moov.start, moov.size)) {
+                return false;
+            }
+            
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                boolean moovWritten = false;
+                for (Mp4Probe.Box box : boxes) {
+                    if (box == moov) {
+                        continue;
+                    }
+                    if (!moovWritten && box == mdat) {
+                        while (movie.hasRemaining()) {
+                            out.write(movie);
+                        }
+                        moovWritten = true;
+                    }
+                    copy(in, box.start, box.size, out);
+                }
+                out.force(false);
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Add {@code delta} to every chunk offset in {@code [from, to)} found inside the boxes in
+     * {@code [start, end)} of {@code movie}.
+     */
+    private static boolean shiftChunkOffsets(ByteBuffer movie, int start, int end, long from, long to, long delta) {
+        int position = start;
+        while (position + 8 <= end) {
+            long size = movie.getInt(position) & 0xFFFFFFFFL;
+            int type = movie.getInt(position + 4);
+            int headerSize = 8;
+            if (size == 1) {
+                if (position + 16 > end) {
+                    return false;
+                }
+                size = movie.getLong(position + 8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = end - position;
+            }
+            if (size < headerSize || position + size > end) {
+                return false;
+            }
+            int payload = position + headerSize;
+            int boxEnd = (int) (position + size);
+            
+            if (type == CMOV) {
+                return false; // Compressed movie header: offsets are not reachable
+            } else if (CONTAINERS.contains(type)) {
+                if (!shiftChunkOffsets(movie, payload, boxEnd, from, to, delta)) {
+                    return false;
+                }
+            } else if (type == STCO || type == CO64) {
+                int entrySize = type == STCO ? 4 : 8;
+                long entries = movie.getInt(payload + 4) & 0xFFFFFFFFL;
+                if (payload + 8 + entries * entrySize > boxEnd) {
+                    return false;
+                }
+                for (int i = 0; i < entries; i++) {
+                    int at = payload + 8 + i * entrySize;
+                    long offset = type == STCO ? movie.getInt(at) & 0xFFFFFFFFL : movie.getLong(at);
+                    if (offset < from || offset >= to) {
+                        continue;
+                    }
+                    if (type == STCO) {
+                        if (offset + delta > 0xFFFFFFFFL) {
+                            return false; // Would need co64, which changes the size of moov
+                        }
+                        movie.putInt(at, (int) (offset + delta));
+                    } else {
+                        movie.putLong(at, offset + delta);
+                    }
+                }
+            }
+            position = boxEnd;
+        }
+        return true;
+    }
+    
+    private static void copy(FileChannel in, long position, long count, FileChannel out) throws IOException {
+        long copied = 0;
+        while (copied < count) {
+            long sent = in.transferTo(position + copied, count - copied, out);
+            if (sent <= 0) {
+                throw new IOException("Source file ended while copying");
+            }
+            copied += sent;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.SkillForge.media;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What {@link Mp4Probe} could tell about a file without decoding it.
+ */
+@Getter
+@AllArgsConstructor
+public class Mp4Metadata {
+    
+    private final long durationMillis;
+    private final int width;  // 0 when there is no video track
+    private final int height;
+    private final Integer bitrateKbps; // Average over the whole file, null when the duration is unknown
+    private final boolean moovBeforeMdat;
+    
+    public Integer durationSeconds() {
+        return durationMillis > 0 ? (int) Math.max(1, Math.round(durationMillis / 1000.0)) : null;
+    }
+    
+    /**
+     * Conventional quality label ("720p", "1080p", ...) from the short side, so portrait videos label the same way.
+     */
+    public String qualityLabel() {
+        int shortSide = Math.min(width, height);
+        return shortSide > 0 ? shortSide + "p" : null;
+    }
+}
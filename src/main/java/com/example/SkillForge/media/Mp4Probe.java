@@ -0,0 +1,208 @@
+package com.example.SkillForge.media;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads duration, resolution and bitrate of an MP4 (ISO base media) file straight from its
+ * box headers: the top-level boxes, then moov/mvhd and each trak's tkhd and hdlr. Only box
+ * headers and those few small boxes are read, with positional reads, so the cost does not
+ * depend on the size of the file and nothing is decoded.
+ */
+public final class Mp4Probe {
+    
+    private static final int MAX_BOXES = 10_000;
+    private static final int MAX_SMALL_BOX_BYTES = 256;
+    
+    private Mp4Probe() {
+    }
+    
+    /**
+     * Probe {@code file}; returns null if it is not an MP4 file with a movie header.
+     */
+    public static Mp4Metadata probe(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return probe(channel);
+        }
+    }
+    
+    static Mp4Metadata probe(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        Box first = Box.read(channel, 0, fileSize);
+        if (first == null || !(first.is("ftyp") || first.is("moov") || first.is("free") || first.is("mdat"))) {
+            return null;
+        }
+        
+        Box moov = null;
+        Box mdat = null;
+        int count = 0;
+        for (Box box = first; box != null && count < MAX_BOXES; box = Box.read(channel, box.end(), fileSize), count++) {
+            if (moov == null && box.is("moov")) {
+                moov = box;
+            } else if (mdat == null && box.is("mdat")) {
+                mdat = box;
+            }
+            if (moov != null && mdat != null) {
+                break;
+            }
+        }
+        if (moov == null) {
+            return null;
+        }
+        
+        Box mvhd = moov.child(channel, "mvhd");
+        if (mvhd == null) {
+            return null;
+        }
+        ByteBuffer header = mvhd.payload(channel);
+        int version = header.limit() > 0 ? header.get(0) & 0xFF : 0;
+        if (header.limit() < (version == 1 ? 32 : 20)) {
+            return null;
+        }
+        long timescale = version == 1 ? header.getInt(20) & 0xFFFFFFFFL : header.getInt(12) & 0xFFFFFFFFL;
+        long duration = version == 1 ? header.getLong(24) : header.getInt(16) & 0xFFFFFFFFL;
+        long durationMillis = timescale > 0 && duration > 0 && duration != 0xFFFFFFFFL && duration != -1
+                ? duration * 1000 / timescale
+                : 0;
+        
+        int width = 0;
+        int height = 0;
+        count = 0;
+        for (Box trak = moov.firstChild(channel); trak != null && count < MAX_BOXES;
+             trak = Box.read(channel, trak.end(), moov.end()), count++) {
+            if (!trak.is("trak")) {
+                continue;
+            }
+            Box tkhd = trak.child(channel, "tkhd");
+            if (tkhd == null) {
+                continue;
+            }
+            ByteBuffer track = tkhd.payload(channel);
+            int widthOffset = track.limit() > 0 && (track.get(0) & 0xFF) == 1 ? 88 : 76;
+            if (track.limit() < widthOffset + 8) {
+                continue;
+            }
+            // 16.16 fixed point
+            int trackWidth = track.getInt(widthOffset) >>> 16;
+            int trackHeight = track.getInt(widthOffset + 4) >>> 16;
+            if (trackWidth == 0 || trackHeight == 0) {
+                continue;
+            }
+            // Prefer the track whose handler says video; any track with a size will do otherwise
+            boolean videoTrack = isVideoTrack(channel, trak);
+            if (videoTrack || width == 0) {
+                width = trackWidth;
+                height = trackHeight;
+            }
+            if (videoTrack) {
+                break;
+            }
+        }
+        
+        Integer bitrateKbps = durationMillis > 0 ? (int) Math.min(Integer.MAX_VALUE, fileSize * 8 / durationMillis) : null;
+        boolean moovBeforeMdat = mdat == null || moov.start < mdat.start;
+        return new Mp4Metadata(durationMillis, width, height, bitrateKbps, moovBeforeMdat);
+    }
+    
+    private static boolean isVideoTrack(FileChannel channel, Box trak) throws IOException {
+        Box mdia = trak.child(channel, "mdia");
+        Box hdlr = mdia != null ? mdia.child(channel, "hdlr") : null;
+        if (hdlr == null) {
+            return false;
+        }
+        ByteBuffer handler = hdlr.payload(channel);
+        return handler.limit() >= 12 && handler.getInt(8) == fourCc("vide");
+    }
+    
+    static int fourCc(String type) {
+        byte[] bytes = type.getBytes(StandardCharsets.US_ASCII);
+        return (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+    }
+    
+    /**
+     * Header of one box: where it starts, how long its header is and its total size.
+     */
+    static final class Box {
+        
+        final int type;
+        final long start;
+        final int headerSize;
+        final long size;
+        
+        private Box(int type, long start, int headerSize, long size) {
+            this.type = type;
+            this.start = start;
+            this.headerSize = headerSize;
+            this.size = size;
+        }
+        
+        /**
+         * Read the box header at {@code position}; null at the end of the parent or if the header is malformed.
+         */
+        static Box read(FileChannel channel, long position, long parentEnd) throws IOException {
+            if (position + 8 > parentEnd) {
+                return null;
+            }
+            ByteBuffer header = readFully(channel, position, (int) Math.min(16, parentEnd - position));
+            long size = header.getInt(0) & 0xFFFFFFFFL;
+            int type = header.getInt(4);
+            int headerSize = 8;
+            if (size == 1) {
+                if (header.limit() < 16) {
+                    return null;
+                }
+                size = header.getLong(8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = parentEnd - position; // Extends to the end of the file
+            }
+            if (size < headerSize || position + size > parentEnd) {
+                return null;
+            }
+            return new Box(type, position, headerSize, size);
+        }
+        
+        boolean is(String fourCc) {
+            return type == fourCc(fourCc);
+        }
+        
+        long end() {
+            return start + size;
+        }
+        
+        Box firstChild(FileChannel channel) throws IOException {
+            return read(channel, start + headerSize, end());
+        }
+        
+        Box child(FileChannel channel, String fourCc) throws IOException {
+            int count = 0;
+            for (Box box = firstChild(channel); box != null && count < MAX_BOXES; box = read(channel, box.end(), end()), count++) {
+                if (box.is(fourCc)) {
+                    return box;
+                }
+            }
+            return null;
+        }
+        
+        /**
+         * Payload of a small box (headers like mvhd and tkhd), capped at a few hundred bytes.
+         */
+        ByteBuffer payload(FileChannel channel) throws IOException {
+            return readFully(channel, start + headerSize, (int) Math.min(size - headerSize, MAX_SMALL_BOX_BYTES));
+        }
+    }
+    
+    static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+}
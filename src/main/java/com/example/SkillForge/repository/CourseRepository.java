@@ -1,26 +1,55 @@
 package com.example.SkillForge.repository;
 
+import com.example.SkillForge.dto.CourseSummary;
 import com.example.SkillForge.entity.Course;
+import com.example.SkillForge.enums.CourseStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
+    // Course card with its instructor's name and lesson totals, in one statement
+    String SUMMARY_SELECT = "SELECT new com.example.SkillForge.dto.CourseSummary(c.id, c.title, c.description, " +
+        "c.price, c.thumbnailUrl, c.createdAt, i.id, i.firstName, i.lastName, " +
+        "(SELECT COUNT(v) FROM Video v WHERE v.course = c AND v.status = com.example.SkillForge.enums.VideoStatus.READY), " +
+        "(SELECT COALESCE(SUM(v.durationSeconds), 0) FROM Video v " +
+        "WHERE v.course = c AND v.status = com.example.SkillForge.enums.VideoStatus.READY)) " +
+        "FROM Course c JOIN c.instructor i ";
+    
     List<Course> findByInstructorId(Long instructorId);
     
     List<Course> findByInstructorIdAndStatus(Long instructorId, String status);
     
     List<Course> findByStatus(String status);
     
-    List<Course> findByStatus(com.example.SkillForge.enums.CourseStatus status);
+    List<Course> findByStatus(CourseStatus status);
     
     @Query("SELECT c FROM Course c WHERE c.status = 'PUBLISHED' ORDER BY c.createdAt DESC")
     List<Course> findPublishedCoursesOrderByNewest();
     
+    /**
+     * Course cards for the in-memory catalog, newest first.
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.status = :status ORDER BY c.createdAt DESC, c.id DESC")
+    List<CourseSummary> findSummaries(CourseStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :courseId AND c.status = :status")
+    Optional<CourseSummary> findSummaryById(Long courseId, CourseStatus status);
+    
+    @Query("SELECT c.instructor.id FROM Course c WHERE c.id = :courseId")
+    Optional<Long> findInstructorIdById(Long courseId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :courseId")
+    Optional<Course> findByIdForUpdate(Long courseId);
+    
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.paymentStatus = 'COMPLETED'")
     Long countEnrolledStudents(Long courseId);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.example.SkillForge.repository;
 
 import com.example.SkillForge.entity.Enrollment;
+import com.example.SkillForge.enums.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +18,7 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByCourseId(Long courseId);
     
     List<Enrollment> findByStudentIdAndPaymentStatus(Long studentId, String paymentStatus);
+    
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId AND e.paymentStatus = :paymentStatus")
+    List<Long> findCourseIdsByStudentIdAndPaymentStatus(Long studentId, PaymentStatus paymentStatus);
 }
\ No newline at end of file
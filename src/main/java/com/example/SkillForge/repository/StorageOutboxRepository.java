@@ -0,0 +1,26 @@
+package com.example.SkillForge.repository;
+
+import com.example.SkillForge.entity.StorageOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StorageOutboxRepository extends JpaRepository<StorageOutboxEvent, Long> {
+    
+    @Query("SELECT e FROM StorageOutboxEvent e WHERE e.storageType = :storageType AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt, e.id")
+    List<StorageOutboxEvent> findDue(String storageType, LocalDateTime now, Pageable pageable);
+    
+    long countByStorageType(String storageType);
+    
+    long countByStorageTypeAndAttemptsGreaterThanEqual(String storageType, int attempts);
+    
+    @Query("SELECT MIN(e.createdAt) FROM StorageOutboxEvent e WHERE e.storageType = :storageType")
+    Optional<LocalDateTime> findOldestCreatedAt(String storageType);
+}
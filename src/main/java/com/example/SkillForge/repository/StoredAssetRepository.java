@@ -0,0 +1,28 @@
+package com.example.SkillForge.repository;
+
+import com.example.SkillForge.entity.StoredAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StoredAssetRepository extends JpaRepository<StoredAsset, Long> {
+    
+    Optional<StoredAsset> findByContentDigestAndStorageType(String contentDigest, String storageType);
+    
+    // Fails (0 rows) once the asset has been released by its last video
+    @Modifying
+    @Query("UPDATE StoredAsset a SET a.refCount = a.refCount + 1 WHERE a.id = :id AND a.refCount > 0")
+    int acquireReference(Long id);
+    
+    @Modifying
+    @Query("UPDATE StoredAsset a SET a.refCount = a.refCount - 1 WHERE a.id = :id AND a.refCount > 0")
+    int releaseReference(Long id);
+    
+    @Modifying
+    @Query("DELETE FROM StoredAsset a WHERE a.id = :id AND a.refCount = 0")
+    int deleteIfUnreferenced(Long id);
+}
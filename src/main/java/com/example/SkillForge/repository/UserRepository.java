@@ -3,8 +3,10 @@ package com.example.SkillForge.repository;
 import com.example.SkillForge.entity.User;
 import com.example.SkillForge.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +20,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     
     List<User> findByEnabledTrue();
+    
+    @Query("SELECT u.id AS id, u.enabled AS enabled, u.tokensValidAfter AS tokensValidAfter, u.updatedAt AS updatedAt " +
+           "FROM User u WHERE u.enabled = false OR u.tokensValidAfter IS NOT NULL")
+    List<UserTokenState> findRestrictedTokenStates();
+    
+    @Query("SELECT u.id AS id, u.enabled AS enabled, u.tokensValidAfter AS tokensValidAfter, u.updatedAt AS updatedAt " +
+           "FROM User u WHERE u.updatedAt > :since")
+    List<UserTokenState> findTokenStatesUpdatedAfter(LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.SkillForge.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the columns that decide whether a user's tokens are still accepted.
+ */
+public interface UserTokenState {
+    
+    Long getId();
+    
+    boolean isEnabled();
+    
+    Long getTokensValidAfter();
+    
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package com.example.SkillForge.repository;
+
+/**
+ * Projection of a video's position within its course.
+ */
+public interface VideoRank {
+    
+    Long getId();
+    
+    Integer getOrderIndex();
+}
@@ -1,10 +1,15 @@
 package com.example.SkillForge.repository;
 
 import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.enums.VideoStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,9 +17,33 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     
     List<Video> findByCourseIdOrderByOrderIndex(Long courseId);
     
+    List<Video> findByStatusInAndUpdatedAtBefore(Collection<VideoStatus> statuses, LocalDateTime updatedBefore);
+    
+    @Query("SELECT MAX(v.orderIndex) FROM Video v WHERE v.course.id = :courseId")
+    Integer findMaxOrderIndexByCourseId(Long courseId);
+    
+    @Query("SELECT v.id AS id, v.orderIndex AS orderIndex FROM Video v " +
+           "WHERE v.course.id = :courseId AND v.orderIndex > :afterRank ORDER BY v.orderIndex")
+    List<VideoRank> findRanksAfter(Long courseId, int afterRank, Pageable pageable);
+    
     @Query("SELECT v FROM Video v WHERE v.course.id = :courseId AND v.isPreview = true")
     List<Video> findPreviewVideosByCourseId(Long courseId);
     
     @Query("SELECT v FROM Video v WHERE v.course.instructor.id = :instructorId")
     List<Video> findByInstructorId(Long instructorId);
+    
+    @Query(value = "SELECT COUNT(*) FROM information_schema.statistics " +
+                   "WHERE table_schema = DATABASE() AND table_name = 'videos' AND index_name = 'uk_videos_course_order'",
+           nativeQuery = true)
+    long countOrderKeyColumns();
+    
+    @Query(value = "SELECT DISTINCT course_id FROM videos WHERE order_index IS NOT NULL " +
+                   "GROUP BY course_id, order_index HAVING COUNT(*) > 1",
+           nativeQuery = true)
+    List<Long> findCourseIdsWithDuplicateOrderIndexes();
+    
+    @Modifying
+    @Query(value = "ALTER TABLE videos ADD CONSTRAINT uk_videos_course_order UNIQUE (course_id, order_index)",
+           nativeQuery = true)
+    void addOrderKey();
 }
\ No newline at end of file
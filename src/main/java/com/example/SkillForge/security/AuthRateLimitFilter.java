@@ -0,0 +1,129 @@
+package com.example.SkillForge.security;
+
+import com.example.SkillForge.dto.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token-bucket rate limiting for the unauthenticated /api/auth endpoints, keyed by
+ * client IP and by the email in the request body. Runs before JWT authentication
+ * so credential-stuffing bursts are turned away before any BCrypt work is done.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${security.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+    
+    @Value("${security.rate-limit.ip.refill-per-minute:60}")
+    private int ipRefillPerMinute;
+    
+    @Value("${security.rate-limit.email.capacity:5}")
+    private int emailCapacity;
+    
+    @Value("${security.rate-limit.email.refill-per-minute:10}")
+    private int emailRefillPerMinute;
+    
+    private TokenBucketRateLimiter ipLimiter;
+    private TokenBucketRateLimiter emailLimiter;
+    
+    @PostConstruct
+    void init() {
+        ipLimiter = new TokenBucketRateLimiter("ip", ipCapacity, ipRefillPerMinute);
+        emailLimiter = new TokenBucketRateLimiter("email", emailCapacity, emailRefillPerMinute);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(AUTH_PATH_PREFIX);
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @org.springframework.lang.NonNull HttpServletRequest request,
+            @org.springframework.lang.NonNull HttpServletResponse response,
+            @org.springframework.lang.NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        
+        long retryAfter = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (retryAfter > 0) {
+            reject(response, retryAfter);
+            return;
+        }
+        
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_INSPECTED_BODY_BYTES);
+        String email = extractEmail(cachedRequest.getBody());
+        if (email != null) {
+            retryAfter = emailLimiter.tryAcquire(email);
+            if (retryAfter > 0) {
+                reject(response, retryAfter);
+                return;
+            }
+        }
+        
+        filterChain.doFilter(cachedRequest, response);
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ip", ipLimiter.stats());
+        stats.put("email", emailLimiter.stats());
+        return stats;
+    }
+    
+    @Scheduled(fixedDelayString = "${security.rate-limit.cleanup-ms:30000}")
+    public void evictIdleBuckets() {
+        ipLimiter.evictIdle();
+        emailLimiter.evictIdle();
+    }
+    
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null; // Malformed body: the controller will reject it
+        }
+    }
+    
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(false, "Too many authentication attempts, please retry later"));
+    }
+}
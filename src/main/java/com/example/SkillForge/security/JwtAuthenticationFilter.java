@@ -1,12 +1,17 @@
 package com.example.SkillForge.security;
 
+import com.example.SkillForge.entity.User;
+import com.example.SkillForge.enums.Role;
 import com.example.SkillForge.service.UserDetailsServiceImpl;
 import com.example.SkillForge.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +27,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserEpochRegistry userEpochRegistry;
+    
+    // When enabled, the principal is built from the token claims without a users query
+    @Value("${jwt.stateless-auth.enabled:false}")
+    private boolean statelessAuth;
     
     @Override
     protected void doFilterInternal(
@@ -32,6 +42,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final Claims claims;
         final String userEmail;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -40,12 +51,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         jwt = authHeader.substring(7);
-        userEmail = jwtUtil.extractUsername(jwt);
+        try {
+            claims = jwtUtil.extractVerifiedClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired or forged token: carry on unauthenticated so public endpoints such as
+            // /api/auth/refresh still work; protected ones are rejected by the security chain
+            filterChain.doFilter(request, response);
+            return;
+        }
+        userEmail = claims.getSubject();
         
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails;
+            boolean tokenCurrent;
+            
+            if (statelessAuth && hasIdentityClaims(claims)) {
+                User principal = principalFromClaims(claims);
+                userDetails = principal;
+                tokenCurrent = userEpochRegistry.isTokenCurrent(principal.getId(), claims.getIssuedAt());
+            } else {
+                userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                tokenCurrent = !(userDetails instanceof User user)
+                        || userEpochRegistry.isTokenCurrent(user, claims.getIssuedAt());
+            }
             
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (tokenCurrent && jwtUtil.validateToken(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -58,4 +88,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+    
+    private boolean hasIdentityClaims(Claims claims) {
+        return claims.get("userId") instanceof Number && claims.get("role") instanceof String;
+    }
+    
+    /**
+     * Lightweight, detached principal carrying only what the token vouches for.
+     * It has no password and is never persisted; entities may still reference it by id.
+     */
+    private User principalFromClaims(Claims claims) {
+        User user = new User();
+        user.setId(((Number) claims.get("userId")).longValue());
+        user.setEmail(claims.getSubject());
+        user.setRole(Role.valueOf(claims.get("role", String.class)));
+        user.setFirstName(claims.get("firstName", String.class));
+        user.setLastName(claims.get("lastName", String.class));
+        user.setEnabled(true);
+        return user;
+    }
+}
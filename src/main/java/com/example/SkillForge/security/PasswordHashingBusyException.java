@@ -0,0 +1,18 @@
+package com.example.SkillForge.security;
+
+/**
+ * Thrown when the password hashing pool is saturated and the caller should retry later.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    private final int retryAfterSeconds;
+    
+    public PasswordHashingBusyException(int retryAfterSeconds) {
+        super("Too many authentication requests, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.SkillForge.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issues and verifies time-limited stream URLs bound to a video and a user, signed
+ * with HMAC-SHA256. Expiries are rounded up to a quarter of the TTL so repeated
+ * requests in the same window get the same URL and players/browsers can cache it.
+ */
+@Component
+public class StreamUrlSigner {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String KEY_PURPOSE = "stream-url";
+    
+    @Value("${video.url-signing.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${video.url-signing.secret:}")
+    private String secret;
+    
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+    
+    @Value("${video.url-signing.ttl-seconds:3600}")
+    private long ttlSeconds;
+    
+    // Mac is not thread-safe, but creating one per request is wasteful
+    private ThreadLocal<Mac> macs;
+    
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    @PostConstruct
+    void init() {
+        if (ttlSeconds < 60) {
+            throw new IllegalStateException("video.url-signing.ttl-seconds must be at least 60");
+        }
+        SecretKeySpec key = new SecretKeySpec(signingKey(), ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
+    }
+    
+    /**
+     * Expiry (epoch seconds) for a URL issued now.
+     */
+    public long currentExpiry() {
+        long window = ttlSeconds / 4;
+        long earliest = System.currentTimeMillis() / 1000 + ttlSeconds;
+        return (earliest + window - 1) / window * window;
+    }
+    
+    public String sign(Long videoId, Long userId, long expiresAt) {
+        issued.increment();
+        return "/api/videos/" + videoId + "/play?uid=" + userId + "&exp=" + expiresAt
+                + "&sig=" + signature(videoId, userId, expiresAt);
+    }
+    
+    public boolean verify(Long videoId, Long userId, long expiresAt, String signature) {
+        boolean valid = videoId != null && userId != null && signature != null
+                && expiresAt > System.currentTimeMillis() / 1000
+                && MessageDigest.isEqual(
+                        signature(videoId, userId, expiresAt).getBytes(StandardCharsets.US_ASCII),
+                        signature.getBytes(StandardCharsets.US_ASCII));
+        if (!valid) {
+            rejected.increment();
+        }
+        return valid;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("issued", issued.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+    
+    /**
+     * The configured secret, or else HMAC(jwt.secret, "stream-url"), so a stream URL signature
+     * can never be mistaken for (or help forge) an access token signature.
+     */
+    private byte[] signingKey() {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(KEY_PURPOSE.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+    
+    private String signature(Long videoId, Long userId, long expiresAt) {
+        Mac mac = macs.get();
+        byte[] digest = mac.doFinal((videoId + ":" + userId + ":" + expiresAt).getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+}
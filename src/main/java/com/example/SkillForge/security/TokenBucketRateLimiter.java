@@ -0,0 +1,101 @@
+package com.example.SkillForge.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket keyed by an arbitrary string (client IP, email, ...).
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical arrival time"
+ * (the GCRA form of a token bucket), so taking a token is one CAS and there is no
+ * lock shared between keys.
+ */
+public class TokenBucketRateLimiter {
+    
+    private final String name;
+    private final int capacity;
+    private final int refillPerMinute;
+    private final long intervalNanos;  // time to refill one token
+    private final long burstNanos;     // time to refill the whole bucket
+    
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public TokenBucketRateLimiter(String name, int capacity, int refillPerMinute) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPerMinute = refillPerMinute;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = intervalNanos * capacity;
+    }
+    
+    /**
+     * Try to take one token for the key.
+     *
+     * @return 0 if the request is allowed, otherwise the number of seconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            long newTat = base + intervalNanos;
+            long overshoot = newTat - now - burstNanos;
+            if (overshoot > 0) {
+                rejected.increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(overshoot + TimeUnit.SECONDS.toNanos(1) - 1));
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Drop buckets that have refilled completely; they behave exactly like a missing bucket.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> {
+            long tat = entry.getValue().get();
+            return tat == Long.MIN_VALUE || tat - now <= 0;
+        });
+    }
+    
+    public Map<String, Object> stats() {
+        long now = System.nanoTime();
+        long exhausted = 0;
+        long usedTokens = 0;
+        for (AtomicLong bucket : buckets.values()) {
+            long tat = bucket.get();
+            if (tat == Long.MIN_VALUE || tat - now <= 0) {
+                continue;
+            }
+            long used = Math.min(capacity, (tat - now + intervalNanos - 1) / intervalNanos);
+            usedTokens += used;
+            if (used >= capacity) {
+                exhausted++;
+            }
+        }
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("capacity", capacity);
+        stats.put("refillPerMinute", refillPerMinute);
+        stats.put("trackedKeys", buckets.size());
+        stats.put("exhaustedBuckets", exhausted);
+        stats.put("tokensInUse", usedTokens);
+        stats.put("allowed", allowed.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.SkillForge.security;
+
+import com.example.SkillForge.entity.User;
+import com.example.SkillForge.repository.UserRepository;
+import com.example.SkillForge.repository.UserTokenState;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory table of users whose tokens are restricted, used by the stateless
+ * authentication mode instead of loading the user on every request.
+ * Only disabled users and users with revoked sessions have an entry; everyone
+ * else is accepted on the strength of the token signature alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEpochRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserEpochRegistry.class);
+    
+    // Re-read a little behind the newest change we saw, so commits that landed late are not missed
+    private static final long REFRESH_OVERLAP_SECONDS = 2;
+    
+    private static final long DISABLED = Long.MAX_VALUE;
+    
+    // Requests that find the table not loaded yet try to load it at most this often
+    private static final long LOAD_RETRY_MILLIS = 1000;
+    
+    private final UserRepository userRepository;
+    
+    @Value("${jwt.stateless-auth.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${jwt.expiration}")
+    private long tokenLifetimeMillis;
+    
+    // userId -> tokens issued before this instant (epoch millis) are rejected
+    private final ConcurrentHashMap<Long, Long> epochs = new ConcurrentHashMap<>();
+    
+    private volatile LocalDateTime lastSeenUpdate;
+    private volatile boolean loaded;
+    private final AtomicLong nextLoadAttempt = new AtomicLong();
+    
+    /**
+     * Check a token against the in-memory table (stateless mode). Until the table has loaded,
+     * the user is looked up instead, and the token is rejected if that fails too.
+     */
+    public boolean isTokenCurrent(Long userId, Date issuedAt) {
+        if (!loaded) {
+            loadOnDemand();
+        }
+        if (!loaded) {
+            try {
+                return userRepository.findById(userId)
+                        .map(user -> isTokenCurrent(user, issuedAt))
+                        .orElse(false);
+            } catch (RuntimeException e) {
+                logger.warn("Rejecting token of user {}: token epochs unavailable ({})", userId, e.getMessage());
+                return false;
+            }
+        }
+        Long epoch = epochs.get(userId);
+        return isIssuedAfter(epoch, issuedAt);
+    }
+    
+    /**
+     * Check a token against a user that was already loaded from the database.
+     */
+    public boolean isTokenCurrent(User user, Date issuedAt) {
+        if (!user.isEnabled()) {
+            return false;
+        }
+        return isIssuedAfter(user.getTokensValidAfter(), issuedAt);
+    }
+    
+    /**
+     * Reject every token issued to this user so far. The caller must save the user.
+     */
+    public void revokeTokens(User user) {
+        // JWT iat has second precision, so the epoch is truncated to whole seconds as well
+        user.setTokensValidAfter((System.currentTimeMillis() / 1000) * 1000);
+        record(user.getId(), user.isEnabled(), user.getTokensValidAfter());
+    }
+    
+    /**
+     * Apply a local change right away instead of waiting for the next refresh.
+     */
+    public void record(User user) {
+        record(user.getId(), user.isEnabled(), user.getTokensValidAfter());
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.stateless-auth.epoch-refresh-ms:5000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<UserTokenState> changes = loaded
+                    ? userRepository.findTokenStatesUpdatedAfter(lastSeenUpdate.minusSeconds(REFRESH_OVERLAP_SECONDS))
+                    : userRepository.findRestrictedTokenStates();
+            
+            LocalDateTime newest = lastSeenUpdate;
+            for (UserTokenState state : changes) {
+                record(state.getId(), state.isEnabled(), state.getTokensValidAfter());
+                if (state.getUpdatedAt() != null && (newest == null || state.getUpdatedAt().isAfter(newest))) {
+                    newest = state.getUpdatedAt();
+                }
+            }
+            lastSeenUpdate = newest != null ? newest : LocalDateTime.now();
+            loaded = true;
+        } catch (Exception e) {
+            // Keep serving from the last known table (or per-user lookups until there is one)
+            logger.warn("Failed to refresh user token epochs: {}", e.getMessage());
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("loaded", loaded);
+        stats.put("restrictedUsers", epochs.size());
+        stats.put("lastSeenUpdate", lastSeenUpdate);
+        return stats;
+    }
+    
+    private void loadOnDemand() {
+        long now = System.currentTimeMillis();
+        long due = nextLoadAttempt.get();
+        // One request per interval pays for the load; the rest fall back right away
+        if (now >= due && nextLoadAttempt.compareAndSet(due, now + LOAD_RETRY_MILLIS)) {
+            refresh();
+        }
+    }
+    
+    private void record(Long userId, boolean userEnabled, Long tokensValidAfter) {
+        if (!userEnabled) {
+            epochs.put(userId, DISABLED);
+        } else if (tokensValidAfter != null && tokensValidAfter + tokenLifetimeMillis > System.currentTimeMillis()) {
+            epochs.put(userId, tokensValidAfter);
+        } else {
+            // No restriction, or every token issued before the epoch has expired by now
+            epochs.remove(userId);
+        }
+    }
+    
+    private static boolean isIssuedAfter(Long epoch, Date issuedAt) {
+        if (epoch == null) {
+            return true;
+        }
+        if (epoch == DISABLED || issuedAt == null) {
+            return false;
+        }
+        return issuedAt.getTime() >= epoch;
+    }
+}
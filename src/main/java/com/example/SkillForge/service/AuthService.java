@@ -2,6 +2,7 @@ package com.example.SkillForge.service;
 
 import com.example.SkillForge.dto.AuthResponse;
 import com.example.SkillForge.dto.LoginRequest;
+import com.example.SkillForge.dto.RefreshTokenRequest;
 import com.example.SkillForge.dto.RegisterRequest;
 import com.example.SkillForge.entity.User;
 import com.example.SkillForge.repository.UserRepository;
@@ -20,9 +21,11 @@ import java.util.Map;
 public class AuthService {
     
     private final UserRepository userRepository;
+    private final UserCacheService userCacheService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
     
     public AuthResponse register(RegisterRequest request) {
         // Check if user already exists
@@ -39,16 +42,12 @@ public class AuthService {
         user.setRole(request.getRole());
         user.setEnabled(true);
         
-        User savedUser = userRepository.save(user);
+        User savedUser = userCacheService.save(user);
         
         // Generate JWT token with role information
-        Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("role", savedUser.getRole().name());
-        extraClaims.put("userId", savedUser.getId());
-        
-        String token = jwtUtil.generateToken(savedUser, extraClaims);
+        String token = jwtUtil.generateToken(savedUser, buildClaims(savedUser));
         
-        return new AuthResponse(
+        AuthResponse response = new AuthResponse(
                 token,
                 savedUser.getId(),
                 savedUser.getEmail(),
@@ -56,6 +55,8 @@ public class AuthService {
                 savedUser.getLastName(),
                 savedUser.getRole()
         );
+        response.setRefreshToken(refreshTokenService.issue(savedUser));
+        return response;
     }
     
     public AuthResponse login(LoginRequest request) {
@@ -68,17 +69,31 @@ public class AuthService {
         );
         
         // Find user
-        User user = userRepository.findByEmail(request.getEmail())
+        User user = userCacheService.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         // Generate JWT token with role information
-        Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("role", user.getRole().name());
-        extraClaims.put("userId", user.getId());
+        String token = jwtUtil.generateToken(user, buildClaims(user));
+        
+        AuthResponse response = new AuthResponse(
+                token,
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRole()
+        );
+        response.setRefreshToken(refreshTokenService.issue(user));
+        return response;
+    }
+    
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        // Rotate: the presented refresh token is consumed and a new one issued, no password check
+        User user = refreshTokenService.consume(request.getRefreshToken());
         
-        String token = jwtUtil.generateToken(user, extraClaims);
+        String token = jwtUtil.generateToken(user, buildClaims(user));
         
-        return new AuthResponse(
+        AuthResponse response = new AuthResponse(
                 token,
                 user.getId(),
                 user.getEmail(),
@@ -86,5 +101,23 @@ public class AuthService {
                 user.getLastName(),
                 user.getRole()
         );
+        response.setRefreshToken(refreshTokenService.issue(user));
+        return response;
+    }
+    
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+    }
+    
+    /**
+     * Claims the stateless authentication mode rebuilds the principal from
+     */
+    private Map<String, Object> buildClaims(User user) {
+        Map<String, Object> extraClaims = new HashMap<>();
+        extraClaims.put("role", user.getRole().name());
+        extraClaims.put("userId", user.getId());
+        extraClaims.put("firstName", user.getFirstName());
+        extraClaims.put("lastName", user.getLastName());
+        return extraClaims;
     }
 }
\ No newline at end of file
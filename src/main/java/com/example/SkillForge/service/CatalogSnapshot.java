@@ -0,0 +1,102 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.dto.CourseSummary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable view of the published catalog, newest first by (createdAt, id). Changes produce a
+ * new snapshot; the old one stays valid for readers that still hold it.
+ */
+final class CatalogSnapshot {
+    
+    static final CatalogSnapshot EMPTY = new CatalogSnapshot(List.of(), 0);
+    
+    private static final Comparator<CourseSummary> NEWEST_FIRST = Comparator
+        .comparing(CourseSummary::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(CourseSummary::getId, Comparator.reverseOrder());
+    
+    private final List<CourseSummary> courses;
+    private final long builtAtMillis;
+    
+    private CatalogSnapshot(List<CourseSummary> courses, long builtAtMillis) {
+        this.courses = courses;
+        this.builtAtMillis = builtAtMillis;
+    }
+    
+    static CatalogSnapshot of(List<CourseSummary> courses) {
+        List<CourseSummary> sorted = new ArrayList<>(courses);
+        sorted.sort(NEWEST_FIRST);
+        return new CatalogSnapshot(Collections.unmodifiableList(sorted), System.currentTimeMillis());
+    }
+    
+    /**
+     * Copy with {@code card} added, or replacing the card of the same course.
+     */
+    CatalogSnapshot with(CourseSummary card) {
+        List<CourseSummary> copy = new ArrayList<>(courses.size() + 1);
+        for (CourseSummary course : courses) {
+            if (!course.getId().equals(card.getId())) {
+                copy.add(course);
+            }
+        }
+        int position = Collections.binarySearch(copy, card, NEWEST_FIRST);
+        copy.add(position < 0 ? -position - 1 : position, card);
+        return new CatalogSnapshot(Collections.unmodifiableList(copy), builtAtMillis);
+    }
+    
+    /**
+     * Copy without the course, or this snapshot if it is not listed.
+     */
+    CatalogSnapshot without(Long courseId) {
+        List<CourseSummary> copy = new ArrayList<>(courses.size());
+        for (CourseSummary course : courses) {
+            if (!course.getId().equals(courseId)) {
+                copy.add(course);
+            }
+        }
+        return copy.size() == courses.size() ? this : new CatalogSnapshot(Collections.unmodifiableList(copy), builtAtMillis);
+    }
+    
+    /**
+     * Up to {@code limit} cards following the keyset {@code after} (from the start when null).
+     */
+    List<CourseSummary> page(LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        int from = 0;
+        if (afterId != null) {
+            // First card that sorts after the keyset
+            int low = 0;
+            int high = courses.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (isAfter(courses.get(middle), afterCreatedAt, afterId)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            from = low;
+        }
+        return courses.subList(from, Math.min(courses.size(), from + limit));
+    }
+    
+    int size() {
+        return courses.size();
+    }
+    
+    long builtAtMillis() {
+        return builtAtMillis;
+    }
+    
+    private static boolean isAfter(CourseSummary course, LocalDateTime createdAt, Long id) {
+        if (course.getCreatedAt() == null) {
+            return true; // Sorted last
+        }
+        int byTime = course.getCreatedAt().compareTo(createdAt);
+        return byTime < 0 || (byTime == 0 && course.getId() < id);
+    }
+}
@@ -1,22 +1,39 @@
 package com.example.SkillForge.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.example.SkillForge.dto.SignedVideoUrl;
+import com.example.SkillForge.dto.VideoUrlResult;
 import com.example.SkillForge.entity.Video;
 import com.example.SkillForge.entity.Course;
+import com.example.SkillForge.entity.StoredAsset;
 import com.example.SkillForge.entity.User;
+import com.example.SkillForge.repository.CourseRepository;
 import com.example.SkillForge.repository.VideoRepository;
-import com.example.SkillForge.repository.EnrollmentRepository;
+import com.example.SkillForge.security.StreamUrlSigner;
+import com.example.SkillForge.storage.VideoStorage;
+import com.example.SkillForge.util.ThreadAllocationMeter;
 import com.example.SkillForge.enums.VideoType;
 import com.example.SkillForge.enums.VideoStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,16 +44,41 @@ public class CloudinaryVideoService {
     private static final Logger logger = LoggerFactory.getLogger(CloudinaryVideoService.class);
     
     private final VideoRepository videoRepository;
-    private final EnrollmentRepository enrollmentRepository;
-    private final Cloudinary cloudinary;
+    private final CourseRepository courseRepository;
+    private final EntitlementIndex entitlementIndex;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final VideoOrderAllocator videoOrderAllocator;
+    private final StreamUrlSigner streamUrlSigner;
+    private final VideoProcessingPipeline videoProcessingPipeline;
+    private final VideoMetadataProbe videoMetadataProbe;
+    private final StoredAssetService storedAssetService;
+    private final StorageOutboxService storageOutboxService;
+    private final CourseCatalogService courseCatalogService;
+    private final VideoStorage videoStorage;
+    
+    @Value("${video.batch-urls.max-ids:200}")
+    private int maxBatchUrls;
+    
+    @Value("${video.upload.max-bytes:104857600}")
+    private long maxUploadBytes;
+    
+    @Value("${video.upload.spool-dir:${java.io.tmpdir}/skillforge-uploads}")
+    private String uploadSpoolDir;
+    
+    private final LongAdder uploads = new LongAdder();
+    private final LongAdder uploadAllocatedBytes = new LongAdder();
+    private final AtomicLong maxUploadAllocatedBytes = new AtomicLong();
     
     /**
-     * Upload video to Cloudinary
+     * Accept a video upload: spool it, create the record as UPLOADING and queue the transfer
+     * to video storage. Returns immediately; poll the video's status for READY or FAILED.
      */
     public Video uploadVideo(MultipartFile videoFile, String title, Course course, User instructor) {
+        Path spooled = null;
+        boolean queued = false;
         try {
             // Validate instructor owns the course
-            if (!course.getInstructor().getId().equals(instructor.getId())) {
+            if (!courseOwnershipIndex.isOwner(course.getId(), instructor.getId())) {
                 throw new SecurityException("Instructor can only upload to their own courses");
             }
             
@@ -45,149 +87,216 @@ public class CloudinaryVideoService {
                 throw new IllegalArgumentException("Invalid video file");
             }
             
-            // Check file size (Cloudinary free tier has limits)
-            if (videoFile.getSize() > 100 * 1024 * 1024) { // 100MB limit
-                throw new IllegalArgumentException("Video file too large. Maximum 100MB allowed.");
-            }
-            
-            // Upload to Cloudinary first (synchronously)
-            String publicId = String.format("skillforge/course_%d/video_%s", 
-                course.getId(), 
-                UUID.randomUUID().toString().substring(0, 8)
-            );
-            
-            // Upload parameters
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadParams = ObjectUtils.asMap(
-                "public_id", publicId,
-                "resource_type", "video",
-                "folder", "skillforge/videos",
-                "quality", "auto:good",
-                "format", "mp4"
-            );
-            
-            // Upload to Cloudinary
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(videoFile.getBytes(), uploadParams);
-            
-            // Get the secure URL
-            String videoUrl = (String) uploadResult.get("secure_url");
-            String thumbnailUrl = generateThumbnailUrl(publicId);
-            
-            // Extract video duration if available
-            Integer duration = null;
-            if (uploadResult.get("duration") != null) {
-                duration = ((Number) uploadResult.get("duration")).intValue();
+            // Check file size; larger files go through the resumable upload API
+            if (videoFile.getSize() > maxUploadBytes) {
+                throw new IllegalArgumentException("Video file too large. Maximum " + (maxUploadBytes / (1024 * 1024))
+                    + "MB allowed, use /api/videos/uploads for larger files.");
             }
             
-            // Create video record with all required data
-            Video video = new Video();
-            video.setTitle(title);
-            video.setCourse(course);
-            video.setFileSize(videoFile.getSize());
-            video.setVideoType(VideoType.LESSON);
-            video.setStatus(VideoStatus.READY);
-            video.setVideoUrl(videoUrl);
-            video.setThumbnailUrl(thumbnailUrl);
-            video.setDurationSeconds(duration);
-            video.setOrderIndex(getNextOrderIndex(course.getId()));
-            
-            return videoRepository.save(video);
+            // Spool to disk (usually a rename of the container's temp file) and stream from there
+            spooled = spool(videoFile);
+            Video video = submitSpooledVideo(spooled, title, course, null);
+            queued = true;
+            return video;
             
+        } catch (SecurityException | IllegalArgumentException | VideoProcessingQueueFullException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload video: " + e.getMessage());
+        } finally {
+            if (!queued) {
+                deleteSpoolFile(spooled);
+            }
         }
     }
     
     /**
-     * Upload to Cloudinary with proper folder structure
+     * Create the record for a spooled video file as UPLOADING and queue its transfer. Once this
+     * returns the processing pipeline owns the file; if it throws, the file is still the caller's.
+     *
+     * @param contentDigest hex SHA-256 of the file when the caller hashed it while receiving it, else null
      */
-    private void uploadToCloudinaryAsync(MultipartFile videoFile, Video video) {
+    Video submitSpooledVideo(Path file, String title, Course course, String contentDigest) throws IOException {
+        if (!videoProcessingPipeline.hasCapacity()) {
+            throw new VideoProcessingQueueFullException(videoProcessingPipeline.retryAfterSeconds());
+        }
+        // Hash the bytes as uploaded: the faststart stage rewrites the file before a retry could
+        String digest = contentDigest != null ? contentDigest : StoredAssetService.digestOf(file);
+        
+        String storageKey = String.format("skillforge/course_%d/video_%s", 
+            course.getId(), 
+            UUID.randomUUID().toString().substring(0, 8)
+        );
+        
+        Video video = new Video();
+        video.setTitle(title);
+        video.setCourse(course);
+        video.setFileSize(Files.size(file));
+        video.setVideoType(VideoType.LESSON);
+        video.setStatus(VideoStatus.UPLOADING);
+        video.setVideoUrl(""); // Filled in once the transfer completes
+        video.setStorageKey(storageKey);
+        video.setThumbnailUrl(videoStorage.thumbnailUrl(storageKey));
+        videoMetadataProbe.apply(video, file); // Only box headers are read, so this is cheap enough inline
+        video = videoOrderAllocator.insert(video);
+        
         try {
-            // Create unique public ID
-            String publicId = String.format("skillforge/course_%d/video_%d_%s", 
-                video.getCourse().getId(), 
-                video.getId(), 
-                UUID.randomUUID().toString().substring(0, 8)
-            );
-            
-            // Upload parameters
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadParams = ObjectUtils.asMap(
-                "public_id", publicId,
-                "resource_type", "video",
-                "folder", "skillforge/videos",
-                "quality", "auto:good", // Auto optimize video quality
-                "format", "mp4", // Convert to MP4 for compatibility
-                "transformation", ObjectUtils.asMap(
-                    "quality", "auto:good",
-                    "fetch_format", "auto"
-                )
-            );
-            
-            // Upload to Cloudinary
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(videoFile.getBytes(), uploadParams);
-            
-            // Get the secure URL
-            String videoUrl = (String) uploadResult.get("secure_url");
-            String thumbnailUrl = generateThumbnailUrl(publicId);
-            
-            // Extract video duration if available
-            Integer duration = null;
-            if (uploadResult.get("duration") != null) {
-                duration = ((Number) uploadResult.get("duration")).intValue();
-            }
-            
-            // Update video record with Cloudinary info
-            video.setVideoUrl(videoUrl);
-            video.setThumbnailUrl(thumbnailUrl);
-            video.setDurationSeconds(duration);
-            video.setStatus(VideoStatus.READY);
-            
-            videoRepository.save(video);
-            
-        } catch (IOException e) {
-            // Update status to FAILED if upload fails
-            video.setStatus(VideoStatus.FAILED);
-            videoRepository.save(video);
-            throw new RuntimeException("Cloudinary upload failed: " + e.getMessage());
+            videoProcessingPipeline.submit(video, file, (videoId, spooled) -> transferToStorage(videoId, spooled, storageKey, digest));
+        } catch (VideoProcessingQueueFullException e) {
+            videoRepository.delete(video);
+            throw e;
         }
+        courseCatalogService.courseChanged(course.getId());
+        return video;
     }
     
     /**
-     * Generate thumbnail URL from Cloudinary
+     * One attempt at getting a spooled video into storage and marking it READY. Content that is
+     * already stored is shared rather than sent again; new content is made faststart and stored
+     * under a key derived from {@code storageKey}. Backends that do not serve files themselves are played back
+     * through /api/videos/{id}/content.
      */
-    private String generateThumbnailUrl(String publicId) {
-        // Cloudinary auto-generates video thumbnails with simple URL manipulation
-        return String.format("https://res.cloudinary.com/%s/video/upload/c_thumb,g_center,h_300,w_400/%s.jpg",
-                cloudinary.config.cloudName, publicId);
+    private void transferToStorage(Long videoId, Path file, String storageKey, String contentDigest) throws IOException {
+        long allocatedBefore = ThreadAllocationMeter.currentThreadAllocatedBytes();
+        try {
+            StoredAsset asset = storedAssetService.acquire(file, contentDigest, storageKey);
+            try {
+                Video video = videoRepository.findById(videoId).orElse(null);
+                if (video == null) {
+                    // Deleted while uploading: do not keep a reference for it
+                    logger.info("Video {} was deleted during upload, releasing {}", videoId, asset.getStorageKey());
+                    storedAssetService.release(asset.getContentDigest());
+                    return;
+                }
+                video.setStatus(VideoStatus.PROCESSING);
+                video = videoRepository.save(video);
+                
+                String playbackUrl = asset.getPlaybackUrl() != null
+                    ? asset.getPlaybackUrl()
+                    : VideoContentService.contentPath(videoId);
+                video.setStorageKey(asset.getStorageKey());
+                video.setContentDigest(asset.getContentDigest());
+                video.setVideoUrl(playbackUrl);
+                video.setThumbnailUrl(videoStorage.thumbnailUrl(asset.getStorageKey()));
+                if (video.getDurationSeconds() == null) {
+                    video.setDurationSeconds(asset.getDurationSeconds());
+                }
+                video.setStatus(VideoStatus.READY);
+                videoRepository.save(video);
+                courseCatalogService.courseChanged(video.getCourse().getId()); // Duration is known now
+            } catch (RuntimeException e) {
+                // The retry acquires again
+                storedAssetService.release(asset.getContentDigest());
+                throw e;
+            }
+        } finally {
+            recordUploadAllocation(allocatedBefore);
+        }
+    }
+    
+    public Map<String, Object> uploadStats() {
+        long count = uploads.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("storage", videoStorage.stats());
+        stats.put("allocationTracking", ThreadAllocationMeter.isSupported());
+        stats.put("uploads", count);
+        stats.put("avgAllocatedBytes", count == 0 ? 0 : uploadAllocatedBytes.sum() / count);
+        stats.put("maxAllocatedBytes", maxUploadAllocatedBytes.get());
+        return stats;
     }
     
     /**
      * Get secure video URL with access control
      */
-    public String getSecureVideoUrl(Long videoId, User user) {
+    public SignedVideoUrl getSecureVideoUrl(Long videoId, User user) {
+        return streamUrlFor(findPlayableVideo(videoId, user), user);
+    }
+    
+    /**
+     * Find a video the user may watch: a free preview, a lesson of a paid course, or the instructor's own.
+     */
+    public Video findPlayableVideo(Long videoId, User user) {
         Video video = videoRepository.findById(videoId)
             .orElseThrow(() -> new RuntimeException("Video not found"));
         
         // Check if it's a free preview
         if (video.isPreview()) {
-            return video.getVideoUrl();
+            return video;
         }
         
         // Check if student has paid for the course
-        boolean hasAccess = enrollmentRepository.existsByStudentIdAndCourseIdAndPaymentStatus(
-            user.getId(), video.getCourse().getId(), "COMPLETED"
-        );
+        boolean hasAccess = entitlementIndex.hasPaidAccess(user.getId(), video.getCourse().getId());
         
         if (!hasAccess && !isInstructorOfVideo(user, video)) {
             throw new SecurityException("Payment required to access this video");
         }
         
+        return video;
+    }
+    
+    /**
+     * Find the video behind a signed stream URL. The signature stands in for the access check
+     * made when the URL was issued.
+     */
+    public Video findSignedVideo(Long videoId, Long userId, long expiresAt, String signature) {
+        if (!streamUrlSigner.verify(videoId, userId, expiresAt, signature)) {
+            throw new SecurityException("Invalid or expired video link");
+        }
+        return videoRepository.findById(videoId)
+            .orElseThrow(() -> new RuntimeException("Video not found"));
+    }
+    
+    /**
+     * Resolve a signed stream URL issued by {@link #getSecureVideoUrl} to the stored video URL.
+     * Videos served by this application keep the signature, since the player cannot send a token.
+     */
+    public String getPlaybackUrl(Long videoId, Long userId, long expiresAt, String signature) {
+        Video video = findSignedVideo(videoId, userId, expiresAt, signature);
+        if (VideoContentService.isServedByApplication(video)) {
+            return video.getVideoUrl() + "?uid=" + userId + "&exp=" + expiresAt + "&sig=" + signature;
+        }
         return video.getVideoUrl();
     }
     
+    /**
+     * Resolve playable URLs for many videos at once: one query for the videos and one
+     * entitlement lookup for the user, with a result per requested id in request order.
+     */
+    public List<VideoUrlResult> getSecureVideoUrls(List<Long> videoIds, User user) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(videoIds);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > maxBatchUrls) {
+            throw new IllegalArgumentException("At most " + maxBatchUrls + " videos can be resolved per request");
+        }
+        
+        Map<Long, Video> videos = new HashMap<>();
+        for (Video video : videoRepository.findAllById(uniqueIds)) {
+            videos.put(video.getId(), video);
+        }
+        
+        long[] paidCourseIds = entitlementIndex.paidCourseIds(user.getId());
+        Map<Long, Boolean> ownedCourses = new HashMap<>();
+        
+        List<VideoUrlResult> results = new ArrayList<>(uniqueIds.size());
+        for (Long videoId : uniqueIds) {
+            Video video = videos.get(videoId);
+            if (video == null) {
+                results.add(VideoUrlResult.denied(videoId, false, "Video not found"));
+                continue;
+            }
+            
+            Long courseId = video.getCourse().getId();
+            boolean hasAccess = video.isPreview()
+                || Arrays.binarySearch(paidCourseIds, courseId) >= 0
+                || ownedCourses.computeIfAbsent(courseId, id -> courseOwnershipIndex.isOwner(id, user.getId()));
+            
+            results.add(hasAccess
+                ? VideoUrlResult.granted(videoId, streamUrlFor(video, user))
+                : VideoUrlResult.denied(videoId, true, "Payment required to access this video"));
+        }
+        return results;
+    }
+    
     /**
      * Get all videos for a course (with access control)
      */
@@ -200,9 +309,7 @@ public class CloudinaryVideoService {
         }
         
         // If user is a student, check enrollment
-        boolean hasAccess = enrollmentRepository.existsByStudentIdAndCourseIdAndPaymentStatus(
-            user.getId(), courseId, "COMPLETED"
-        );
+        boolean hasAccess = entitlementIndex.hasPaidAccess(user.getId(), courseId);
         
         if (hasAccess) {
             return allVideos; // Return all videos if paid
@@ -215,29 +322,34 @@ public class CloudinaryVideoService {
     }
     
     /**
-     * Delete video from Cloudinary and database
+     * Delete video from database, and queue deletion of its stored file unless other videos
+     * share it. Storage is only touched after commit, by the storage outbox.
      */
+    @Transactional
     public void deleteVideo(Long videoId, User instructor) {
         Video video = videoRepository.findById(videoId)
             .orElseThrow(() -> new RuntimeException("Video not found"));
         
-        if (!video.getCourse().getInstructor().getId().equals(instructor.getId())) {
+        if (!courseOwnershipIndex.isOwner(video.getCourse().getId(), instructor.getId())) {
             throw new SecurityException("Only course instructor can delete videos");
         }
         
-        try {
-            // Extract public_id from Cloudinary URL to delete
-            String publicId = extractPublicIdFromUrl(video.getVideoUrl());
-            if (publicId != null) {
-                cloudinary.uploader().destroy(publicId, ObjectUtils.asMap("resource_type", "video"));
-            }
-        } catch (Exception e) {
-            // Log error but continue with database deletion
-            System.err.println("Failed to delete from Cloudinary: " + e.getMessage());
-        }
-        
-        // Delete from database
         videoRepository.delete(video);
+        releaseStoredContent(video);
+        courseCatalogService.courseChanged(video.getCourse().getId());
+    }
+    
+    /**
+     * Delete a course with its videos, queueing storage cleanup for their files in the same
+     * transaction (the cascade alone would leave the stored files behind).
+     */
+    @Transactional
+    public void deleteCourse(Course course) {
+        for (Video video : videoRepository.findByCourseIdOrderByOrderIndex(course.getId())) {
+            releaseStoredContent(video);
+        }
+        courseRepository.delete(course);
+        courseCatalogService.courseChanged(course.getId());
     }
     
     /**
@@ -247,7 +359,7 @@ public class CloudinaryVideoService {
         Video video = videoRepository.findById(videoId)
             .orElseThrow(() -> new RuntimeException("Video not found"));
         
-        if (!video.getCourse().getInstructor().getId().equals(instructor.getId())) {
+        if (!courseOwnershipIndex.isOwner(video.getCourse().getId(), instructor.getId())) {
             throw new SecurityException("Only course instructor can modify videos");
         }
         
@@ -261,18 +373,69 @@ public class CloudinaryVideoService {
         return contentType != null && contentType.startsWith("video/");
     }
     
-    private int getNextOrderIndex(Long courseId) {
-        return videoRepository.findByCourseIdOrderByOrderIndex(courseId).size();
+    private Path spool(MultipartFile videoFile) throws IOException {
+        Path spoolDirectory = Files.createDirectories(Paths.get(uploadSpoolDir));
+        Path spooled = Files.createTempFile(spoolDirectory, "upload-", ".part");
+        try {
+            videoFile.transferTo(spooled);
+        } catch (IOException | RuntimeException e) {
+            deleteSpoolFile(spooled);
+            throw e;
+        }
+        return spooled;
+    }
+    
+    private void deleteSpoolFile(Path spooled) {
+        if (spooled == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            logger.warn("Could not delete upload spool file {}: {}", spooled, e.getMessage());
+        }
+    }
+    
+    private void recordUploadAllocation(long allocatedBefore) {
+        long allocatedAfter = ThreadAllocationMeter.currentThreadAllocatedBytes();
+        if (allocatedBefore < 0 || allocatedAfter < 0) {
+            return;
+        }
+        long allocated = allocatedAfter - allocatedBefore;
+        uploads.increment();
+        uploadAllocatedBytes.add(allocated);
+        maxUploadAllocatedBytes.accumulateAndGet(allocated, Math::max);
+    }
+    
+    private SignedVideoUrl streamUrlFor(Video video, User user) {
+        if (!streamUrlSigner.isEnabled()) {
+            return new SignedVideoUrl(video.getVideoUrl(), null);
+        }
+        long expiresAt = streamUrlSigner.currentExpiry();
+        return new SignedVideoUrl(streamUrlSigner.sign(video.getId(), user.getId(), expiresAt), expiresAt);
     }
     
     private boolean isInstructorOfCourse(User user, Long courseId) {
-        return videoRepository.findByCourseIdOrderByOrderIndex(courseId)
-            .stream()
-            .anyMatch(video -> video.getCourse().getInstructor().getId().equals(user.getId()));
+        return courseOwnershipIndex.isOwner(courseId, user.getId());
     }
     
     private boolean isInstructorOfVideo(User user, Video video) {
-        return video.getCourse().getInstructor().getId().equals(user.getId());
+        return courseOwnershipIndex.isOwner(video.getCourse().getId(), user.getId());
+    }
+    
+    private void releaseStoredContent(Video video) {
+        if (video.getContentDigest() != null) {
+            // Shared content: the stored file goes with its last video
+            storedAssetService.release(video.getContentDigest());
+            return;
+        }
+        // Videos uploaded before storage keys were recorded only have their Cloudinary URL
+        String storageKey = video.getStorageKey() != null
+            ? video.getStorageKey()
+            : extractPublicIdFromUrl(video.getVideoUrl());
+        if (storageKey != null) {
+            storageOutboxService.enqueueDelete(storageKey);
+        }
     }
     
     private String extractPublicIdFromUrl(String cloudinaryUrl) {
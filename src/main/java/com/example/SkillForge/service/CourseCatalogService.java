@@ -0,0 +1,208 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.dto.CatalogPage;
+import com.example.SkillForge.dto.CourseSummary;
+import com.example.SkillForge.enums.CourseStatus;
+import com.example.SkillForge.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Public course catalog, newest first, served from an immutable in-memory snapshot of
+ * {@link CourseSummary} cards. Reads only dereference the current snapshot: no locks and no
+ * queries. Course and lesson writes refresh the one affected card after commit (copy on
+ * write), and the whole snapshot is rebuilt periodically to pick up anything else.
+ * Pages continue from an opaque cursor holding the (createdAt, id) of the last course returned.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseCatalogService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CourseCatalogService.class);
+    
+    private final CourseRepository courseRepository;
+    
+    @Value("${course.catalog.default-page-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${course.catalog.max-page-size:100}")
+    private int maxPageSize;
+    
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    
+    // Writers only: serializes card refreshes against each other and against swapping in a rebuild
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder cardRefreshes = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    
+    public CatalogPage publishedCourses(String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        Keyset after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        
+        // One extra card tells whether there is a next page
+        List<CourseSummary> courses = after == null
+            ? current().page(null, null, pageSize + 1)
+            : current().page(after.createdAt(), after.id(), pageSize + 1);
+        reads.increment();
+        
+        if (courses.size() <= pageSize) {
+            return new CatalogPage(courses, null);
+        }
+        List<CourseSummary> result = courses.subList(0, pageSize);
+        CourseSummary last = result.get(pageSize - 1);
+        return new CatalogPage(result, encodeCursor(last.getCreatedAt(), last.getId()));
+    }
+    
+    /**
+     * A course or one of its lessons changed: refresh its card once the current transaction
+     * commits, or right away outside a transaction.
+     */
+    public void courseChanged(Long courseId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshCard(courseId);
+                }
+            });
+        } else {
+            refreshCard(courseId);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // retryFirstBuild tries again
+            logger.warn("Could not build the course catalog at startup: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Until a first snapshot exists, keep trying to build one more often than the periodic rebuild.
+     */
+    @Scheduled(fixedDelayString = "${course.catalog.first-build-retry-ms:5000}")
+    public void retryFirstBuild() {
+        if (snapshot.get() != null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Could not build the course catalog: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Reload every card. Cards refreshed while the reload query ran are refreshed again
+     * afterwards, so a rebuild never brings back an older version of them.
+     */
+    @Scheduled(initialDelayString = "${course.catalog.rebuild-ms:600000}", fixedDelayString = "${course.catalog.rebuild-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                rebuilding = true;
+                changedDuringRebuild.clear();
+            }
+            Set<Long> changed;
+            try {
+                CatalogSnapshot rebuilt = CatalogSnapshot.of(courseRepository.findSummaries(CourseStatus.PUBLISHED));
+                synchronized (writeLock) {
+                    snapshot.set(rebuilt);
+                    changed = Set.copyOf(changedDuringRebuild);
+                }
+            } finally {
+                synchronized (writeLock) {
+                    rebuilding = false;
+                    changedDuringRebuild.clear();
+                }
+            }
+            changed.forEach(this::refreshCard);
+            rebuilds.increment();
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        CatalogSnapshot current = snapshot.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("courses", current == null ? 0 : current.size());
+        stats.put("snapshotAgeSeconds", current == null ? 0 : (System.currentTimeMillis() - current.builtAtMillis()) / 1000);
+        stats.put("reads", reads.sum());
+        stats.put("cardRefreshes", cardRefreshes.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        return stats;
+    }
+    
+    private CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot.get();
+        // Empty only until the first build has finished; readers never build it themselves
+        return current != null ? current : CatalogSnapshot.EMPTY;
+    }
+    
+    private void refreshCard(Long courseId) {
+        try {
+            synchronized (writeLock) {
+                if (rebuilding) {
+                    changedDuringRebuild.add(courseId);
+                }
+                CatalogSnapshot current = snapshot.get();
+                if (current == null) {
+                    return; // The first build will include it
+                }
+                snapshot.set(courseRepository.findSummaryById(courseId, CourseStatus.PUBLISHED)
+                    .map(current::with)
+                    .orElseGet(() -> current.without(courseId)));
+            }
+            cardRefreshes.increment();
+        } catch (RuntimeException e) {
+            // The next rebuild picks the change up
+            logger.warn("Failed to refresh catalog card of course {}: {}", courseId, e.getMessage());
+        }
+    }
+    
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String keyset = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(keyset.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static Keyset decodeCursor(String cursor) {
+        try {
+            String keyset = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = keyset.indexOf('|');
+            return new Keyset(LocalDateTime.parse(keyset.substring(0, separator)),
+                Long.parseLong(keyset.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    record Keyset(LocalDateTime createdAt, Long id) {
+    }
+}
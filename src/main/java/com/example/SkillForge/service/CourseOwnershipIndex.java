@@ -0,0 +1,61 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.Course;
+import com.example.SkillForge.repository.CourseRepository;
+import com.example.SkillForge.util.BoundedExpiringCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * courseId -> instructorId lookup used by every ownership check. A course never
+ * changes instructor, so entries only leave the cache when the course is deleted
+ * or the cache is full; misses are answered by a single-column query.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseOwnershipIndex {
+    
+    private final CourseRepository courseRepository;
+    
+    @Value("${course-ownership.max-entries:100000}")
+    private int maxEntries;
+    
+    private BoundedExpiringCache<Long, Long> instructorByCourse;
+    
+    @PostConstruct
+    void init() {
+        instructorByCourse = new BoundedExpiringCache<>(maxEntries, 0);
+    }
+    
+    /**
+     * Instructor id of the course, or null if the course does not exist.
+     */
+    public Long instructorOf(Long courseId) {
+        if (courseId == null) {
+            return null;
+        }
+        return instructorByCourse.getOrLoad(courseId, id -> courseRepository.findInstructorIdById(id).orElse(null));
+    }
+    
+    public boolean isOwner(Long courseId, Long userId) {
+        return userId != null && userId.equals(instructorOf(courseId));
+    }
+    
+    public void courseCreated(Course course) {
+        if (course.getId() != null && course.getInstructor() != null) {
+            instructorByCourse.put(course.getId(), course.getInstructor().getId());
+        }
+    }
+    
+    public void courseDeleted(Long courseId) {
+        instructorByCourse.invalidate(courseId);
+    }
+    
+    public Map<String, Object> stats() {
+        return instructorByCourse.stats();
+    }
+}
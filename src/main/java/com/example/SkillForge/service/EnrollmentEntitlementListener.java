@@ -0,0 +1,45 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.Enrollment;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that drops a student's cached entitlements whenever one of their
+ * enrollments is written. Instantiated by Hibernate through Spring's bean container
+ * while the EntityManagerFactory is still being built, so the index is looked up lazily.
+ */
+public class EnrollmentEntitlementListener {
+    
+    private final ObjectProvider<EntitlementIndex> entitlementIndex;
+    
+    public EnrollmentEntitlementListener(ObjectProvider<EntitlementIndex> entitlementIndex) {
+        this.entitlementIndex = entitlementIndex;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEnrollmentChanged(Enrollment enrollment) {
+        if (enrollment.getStudent() == null || enrollment.getStudent().getId() == null) {
+            return;
+        }
+        Long studentId = enrollment.getStudent().getId();
+        EntitlementIndex index = entitlementIndex.getObject();
+        index.invalidate(studentId);
+        
+        // Invalidate again once the change is visible to other transactions
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.invalidate(studentId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.enums.PaymentStatus;
+import com.example.SkillForge.repository.EnrollmentRepository;
+import com.example.SkillForge.util.BoundedExpiringCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Which courses each student has paid for, as a sorted long[] per student.
+ * Loaded lazily with one projection query and answered from memory afterwards;
+ * enrollment writes invalidate the student's entry (see {@link EnrollmentEntitlementListener}).
+ * The TTL only exists to pick up changes made outside the application.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntitlementIndex {
+    
+    private static final long[] NONE = new long[0];
+    
+    private final EnrollmentRepository enrollmentRepository;
+    
+    @Value("${entitlements.max-students:50000}")
+    private int maxStudents;
+    
+    @Value("${entitlements.ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    private BoundedExpiringCache<Long, long[]> paidCourses;
+    
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        paidCourses = new BoundedExpiringCache<>(maxStudents, ttlSeconds * 1000);
+    }
+    
+    public boolean hasPaidAccess(Long studentId, Long courseId) {
+        return Arrays.binarySearch(paidCourseIds(studentId), courseId) >= 0;
+    }
+    
+    /**
+     * Sorted ids of the courses the student has a COMPLETED payment for. Do not modify the array.
+     */
+    public long[] paidCourseIds(Long studentId) {
+        long[] courseIds = paidCourses.get(studentId);
+        if (courseIds != null) {
+            return courseIds;
+        }
+        
+        long version = invalidations.get();
+        List<Long> loaded = enrollmentRepository.findCourseIdsByStudentIdAndPaymentStatus(studentId, PaymentStatus.COMPLETED);
+        courseIds = loaded.isEmpty()
+                ? NONE
+                : loaded.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        
+        if (invalidations.get() == version) {
+            paidCourses.put(studentId, courseIds);
+        }
+        return courseIds;
+    }
+    
+    public void invalidate(Long studentId) {
+        invalidations.incrementAndGet();
+        paidCourses.invalidate(studentId);
+    }
+    
+    public Map<String, Object> stats() {
+        return paidCourses.stats();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.RefreshToken;
+import com.example.SkillForge.entity.User;
+import com.example.SkillForge.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Opaque, rotating refresh tokens. Only a SHA-256 of each token is stored, so a
+ * refresh is one indexed lookup plus a hash instead of a BCrypt verification.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    
+    private static final int TOKEN_BYTES = 32;
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMillis;
+    
+    /**
+     * Create a new refresh token for the user and return the raw value for the client.
+     */
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setExpiresAt(LocalDateTime.now().plusNanos(refreshExpirationMillis * 1_000_000));
+        refreshTokenRepository.save(refreshToken);
+        
+        return rawToken;
+    }
+    
+    /**
+     * Consume a refresh token and return the user it belongs to. The token cannot be used again;
+     * presenting an already-rotated token revokes every refresh token of that user.
+     */
+    @Transactional(noRollbackFor = RuntimeException.class)
+    public User consume(String rawToken) {
+        String tokenHash = hash(rawToken);
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .filter(stored -> MessageDigest.isEqual(
+                        stored.getTokenHash().getBytes(StandardCharsets.US_ASCII),
+                        tokenHash.getBytes(StandardCharsets.US_ASCII)))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        
+        User user = refreshToken.getUser();
+        LocalDateTime now = LocalDateTime.now();
+        
+        if (refreshToken.getRevokedAt() != null
+                || refreshTokenRepository.revokeIfActive(refreshToken.getId(), now) == 0) {
+            // Reuse of a rotated token means it leaked somewhere: end every session of this user
+            logger.warn("Refresh token reuse detected for user {}", user.getId());
+            refreshTokenRepository.revokeAllForUser(user.getId(), now);
+            throw new RuntimeException("Invalid refresh token");
+        }
+        
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new RuntimeException("Refresh token expired");
+        }
+        if (!user.isEnabled()) {
+            throw new RuntimeException("Account is disabled");
+        }
+        
+        return user;
+    }
+    
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeIfActive(token.getId(), LocalDateTime.now()));
+    }
+    
+    @Transactional
+    public void revokeAll(User user) {
+        refreshTokenRepository.revokeAllForUser(user.getId(), LocalDateTime.now());
+    }
+    
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+    
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
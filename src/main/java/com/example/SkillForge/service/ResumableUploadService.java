@@ -0,0 +1,347 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.dto.CreateUploadRequest;
+import com.example.SkillForge.entity.Course;
+import com.example.SkillForge.entity.User;
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resumable uploads: a session owns a spool file preallocated to the final size, chunks
+ * are written into it with positional writes and verified against a SHA-256 sent by the
+ * client, and the finished file is queued for processing like a direct upload. The
+ * whole-file SHA-256 is computed as the chunks arrive, for content deduplication.
+ * Sessions live in memory; a restart drops them and the cleanup removes their files.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ResumableUploadService.class);
+    
+    private static final String SPOOL_PREFIX = "resumable-";
+    private static final String SPOOL_SUFFIX = ".part";
+    private static final String PROCESSING_PREFIX = "processing-";
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    
+    private final CourseRepository courseRepository;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final CloudinaryVideoService cloudinaryVideoService;
+    
+    @Value("${video.upload.spool-dir:${java.io.tmpdir}/skillforge-uploads}")
+    private String spoolDir;
+    
+    @Value("${video.resumable.max-bytes:2147483648}")
+    private long maxUploadBytes;
+    
+    @Value("${video.resumable.max-chunk-bytes:16777216}")
+    private long maxChunkBytes;
+    
+    @Value("${video.resumable.session-ttl-minutes:60}")
+    private long sessionTtlMinutes;
+    
+    @Value("${video.resumable.max-sessions-per-instructor:5}")
+    private int maxSessionsPerInstructor;
+    
+    private final ConcurrentHashMap<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    // instructorId -> sessions held, reserved before a session is created so the cap is never exceeded
+    private final ConcurrentHashMap<Long, Integer> sessionsPerInstructor = new ConcurrentHashMap<>();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder checksumFailures = new LongAdder();
+    private final LongAdder completedUploads = new LongAdder();
+    private final LongAdder expiredSessions = new LongAdder();
+    
+    public UploadSession create(CreateUploadRequest request, User instructor) throws IOException {
+        if (!courseOwnershipIndex.isOwner(request.getCourseId(), instructor.getId())) {
+            throw new SecurityException("Instructor can only upload to their own courses");
+        }
+        if (request.getContentType() != null && !request.getContentType().startsWith("video/")) {
+            throw new IllegalArgumentException("Invalid video file");
+        }
+        if (request.getTotalBytes() > maxUploadBytes) {
+            throw new IllegalArgumentException("Video file too large. Maximum " + (maxUploadBytes / (1024 * 1024)) + "MB allowed.");
+        }
+        if (!reserveSession(instructor.getId())) {
+            throw new IllegalArgumentException("Too many uploads in progress, finish or cancel one first");
+        }
+        
+        boolean created = false;
+        try {
+            Path directory = Files.createDirectories(Paths.get(spoolDir));
+            Path spoolFile = Files.createTempFile(directory, SPOOL_PREFIX, SPOOL_SUFFIX);
+            try (RandomAccessFile file = new RandomAccessFile(spoolFile.toFile(), "rw")) {
+                file.setLength(request.getTotalBytes());
+            } catch (IOException e) {
+                Files.deleteIfExists(spoolFile);
+                throw e;
+            }
+            
+            UploadSession session = new UploadSession(UUID.randomUUID().toString(), instructor.getId(),
+                request.getCourseId(), request.getTitle().trim(), request.getTotalBytes(), spoolFile, sha256());
+            sessions.put(session.getId(), session);
+            created = true;
+            return session;
+        } finally {
+            if (!created) {
+                releaseSession(instructor.getId());
+            }
+        }
+    }
+    
+    public UploadSession get(String uploadId, User instructor) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null) {
+            throw new RuntimeException("Upload not found");
+        }
+        if (!session.getInstructorId().equals(instructor.getId())) {
+            throw new SecurityException("Upload belongs to another instructor");
+        }
+        return session;
+    }
+    
+    /**
+     * Write one chunk at {@code offset}. The chunk must start where the upload currently ends,
+     * so a retried chunk simply overwrites the same bytes; the offset only moves once the
+     * checksum matches.
+     */
+    public UploadSession writeChunk(String uploadId, long offset, long length, String sha256Hex,
+                                    InputStream body, User instructor) throws IOException {
+        UploadSession session = get(uploadId, instructor);
+        if (sha256Hex == null || sha256Hex.isBlank()) {
+            throw new IllegalArgumentException("Chunk checksum header is required");
+        }
+        if (length <= 0 || length > maxChunkBytes) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + maxChunkBytes + " bytes");
+        }
+        if (!session.lock.tryLock()) {
+            throw new IllegalStateException("Another chunk is being written for this upload");
+        }
+        try {
+            if (offset != session.getOffset()) {
+                throw new UploadOffsetMismatchException(session.getOffset());
+            }
+            if (offset + length > session.getTotalBytes()) {
+                throw new IllegalArgumentException("Chunk extends past the declared upload size");
+            }
+            
+            MessageDigest digest = sha256();
+            MessageDigest content = cloneOf(session.contentDigest); // Whole-file digest, kept only if the chunk is accepted
+            try (FileChannel channel = FileChannel.open(session.getSpoolFile(), StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_BYTES);
+                long position = offset;
+                long remaining = length;
+                while (remaining > 0) {
+                    int read = body.read(buffer.array(), 0, (int) Math.min(buffer.capacity(), remaining));
+                    if (read < 0) {
+                        throw new IllegalArgumentException("Chunk body is shorter than its declared length");
+                    }
+                    digest.update(buffer.array(), 0, read);
+                    content.update(buffer.array(), 0, read);
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    remaining -= read;
+                }
+            }
+            
+            byte[] expected = sha256Hex.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+            byte[] actual = HexFormat.of().formatHex(digest.digest()).getBytes(StandardCharsets.US_ASCII);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                checksumFailures.increment();
+                session.touch();
+                throw new IllegalArgumentException("Chunk checksum mismatch");
+            }
+            
+            session.contentDigest = content;
+            session.advanceTo(offset + length);
+            bytesReceived.add(length);
+            return session;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+    
+    /**
+     * Hand the assembled file to the video processing pipeline. If it cannot be queued the
+     * session is kept, so the client can retry without sending the bytes again.
+     */
+    public Video complete(String uploadId, User instructor) throws IOException {
+        UploadSession session = get(uploadId, instructor);
+        if (!session.lock.tryLock()) {
+            throw new IllegalStateException("Another request is in progress for this upload");
+        }
+        try {
+            if (!session.isComplete()) {
+                throw new IllegalArgumentException("Upload is incomplete: received "
+                    + session.getOffset() + " of " + session.getTotalBytes() + " bytes");
+            }
+            Course course = courseRepository.findById(session.getCourseId())
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+            
+            // Renamed out of the resumable-*.part pattern so the orphan cleanup leaves it to the pipeline
+            Path processingFile = session.getSpoolFile().resolveSibling(PROCESSING_PREFIX + uploadId + SPOOL_SUFFIX);
+            Files.move(session.getSpoolFile(), processingFile, StandardCopyOption.REPLACE_EXISTING);
+            Video video;
+            try {
+                video = cloudinaryVideoService.submitSpooledVideo(processingFile, session.getTitle(), course,
+                    session.contentDigestHex());
+            } catch (IOException | RuntimeException e) {
+                Files.move(processingFile, session.getSpoolFile(), StandardCopyOption.REPLACE_EXISTING);
+                session.touch();
+                throw e;
+            }
+            
+            removeSession(session);
+            completedUploads.increment();
+            return video;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+    
+    public void abort(String uploadId, User instructor) {
+        UploadSession session = get(uploadId, instructor);
+        if (removeSession(session)) {
+            deleteSpoolFile(session.getSpoolFile());
+        }
+    }
+    
+    public long getMaxChunkBytes() {
+        return maxChunkBytes;
+    }
+    
+    public long expiresAtMillis(UploadSession session) {
+        return session.getLastActivityMillis() + TimeUnit.MINUTES.toMillis(sessionTtlMinutes);
+    }
+    
+    /**
+     * Drop idle sessions, and spool files left behind by sessions lost in a restart.
+     */
+    @Scheduled(fixedDelayString = "${video.resumable.cleanup-ms:300000}")
+    public void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(sessionTtlMinutes);
+        for (UploadSession session : sessions.values()) {
+            if (session.getLastActivityMillis() < cutoff && session.lock.tryLock()) {
+                try {
+                    if (removeSession(session)) {
+                        deleteSpoolFile(session.getSpoolFile());
+                        expiredSessions.increment();
+                    }
+                } finally {
+                    session.lock.unlock();
+                }
+            }
+        }
+        
+        Path directory = Paths.get(spoolDir);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Set<Path> live = new HashSet<>();
+        sessions.values().forEach(session -> live.add(session.getSpoolFile()));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SPOOL_PREFIX + "*" + SPOOL_SUFFIX)) {
+            for (Path file : files) {
+                if (!live.contains(file) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    deleteSpoolFile(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not scan upload spool directory {}: {}", directory, e.getMessage());
+        }
+    }
+    
+    /**
+     * Take one of the instructor's session slots, if there is one left. Check and increment
+     * happen in one atomic step, so concurrent creates cannot both take the last slot.
+     */
+    private boolean reserveSession(Long instructorId) {
+        boolean[] reserved = new boolean[1];
+        sessionsPerInstructor.compute(instructorId, (id, held) -> {
+            int current = held == null ? 0 : held;
+            if (current >= maxSessionsPerInstructor) {
+                return held;
+            }
+            reserved[0] = true;
+            return current + 1;
+        });
+        return reserved[0];
+    }
+    
+    private void releaseSession(Long instructorId) {
+        sessionsPerInstructor.computeIfPresent(instructorId, (id, held) -> held > 1 ? held - 1 : null);
+    }
+    
+    private boolean removeSession(UploadSession session) {
+        if (sessions.remove(session.getId(), session)) {
+            releaseSession(session.getInstructorId());
+            return true;
+        }
+        return false;
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeSessions", sessions.size());
+        stats.put("bytesReceived", bytesReceived.sum());
+        stats.put("checksumFailures", checksumFailures.sum());
+        stats.put("completed", completedUploads.sum());
+        stats.put("expired", expiredSessions.sum());
+        return stats;
+    }
+    
+    private void deleteSpoolFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete upload spool file {}: {}", file, e.getMessage());
+        }
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static MessageDigest cloneOf(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.StorageOutboxEvent;
+import com.example.SkillForge.enums.StorageOperation;
+import com.example.SkillForge.repository.StorageOutboxRepository;
+import com.example.SkillForge.storage.VideoStorage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transactional outbox for video storage side effects. Callers record what has to happen to
+ * storage in the same transaction as their database change; a scheduled dispatcher drains the
+ * table in batches (bulk deletes where the backend has them) and retries failures with
+ * exponential backoff. Events that keep failing stay in the table and show up in the metrics.
+ */
+@Service
+@RequiredArgsConstructor
+public class StorageOutboxService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StorageOutboxService.class);
+    
+    private final StorageOutboxRepository storageOutboxRepository;
+    private final VideoStorage videoStorage;
+    
+    @Value("${storage.outbox.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${storage.outbox.retry-backoff-ms:10000}")
+    private long retryBackoffMillis;
+    
+    @Value("${storage.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMillis;
+    
+    @Value("${storage.outbox.stuck-after-attempts:5}")
+    private int stuckAfterAttempts;
+    
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    
+    /**
+     * Record that {@code storageKey} must be deleted from the active storage backend. Joins the
+     * caller's transaction, so the delete happens only if the caller's change commits.
+     */
+    @Transactional
+    public void enqueueDelete(String storageKey) {
+        StorageOutboxEvent event = new StorageOutboxEvent();
+        event.setOperation(StorageOperation.DELETE);
+        event.setStorageType(videoStorage.name());
+        event.setStorageKey(storageKey);
+        storageOutboxRepository.save(event);
+        enqueued.increment();
+    }
+    
+    /**
+     * Drain due events in batches until none are left or a batch makes no progress.
+     */
+    @Scheduled(fixedDelayString = "${storage.outbox.poll-ms:5000}")
+    public void dispatch() {
+        while (true) {
+            List<StorageOutboxEvent> due = storageOutboxRepository.findDue(
+                videoStorage.name(), LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return;
+            }
+            int done = dispatchBatch(due);
+            if (done == 0 || due.size() < batchSize) {
+                return;
+            }
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        String storageType = videoStorage.name();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", storageOutboxRepository.countByStorageType(storageType));
+        stats.put("stuck", storageOutboxRepository.countByStorageTypeAndAttemptsGreaterThanEqual(storageType, stuckAfterAttempts));
+        stats.put("oldestPendingSeconds", storageOutboxRepository.findOldestCreatedAt(storageType)
+            .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toSeconds())
+            .orElse(0L));
+        stats.put("enqueued", enqueued.sum());
+        stats.put("completed", completed.sum());
+        stats.put("failedAttempts", failedAttempts.sum());
+        stats.put("batches", batches.sum());
+        return stats;
+    }
+    
+    private int dispatchBatch(List<StorageOutboxEvent> events) {
+        batches.increment();
+        Set<String> keys = new LinkedHashSet<>();
+        events.forEach(event -> keys.add(event.getStorageKey()));
+        
+        Set<String> gone;
+        String error = null;
+        try {
+            gone = videoStorage.deleteAll(keys);
+        } catch (IOException | RuntimeException e) {
+            gone = Set.of();
+            error = e.getMessage();
+            logger.warn("Storage outbox batch of {} deletes failed: {}", keys.size(), error);
+        }
+        
+        List<StorageOutboxEvent> done = new ArrayList<>();
+        List<StorageOutboxEvent> retry = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (StorageOutboxEvent event : events) {
+            if (gone.contains(event.getStorageKey())) {
+                done.add(event);
+                continue;
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            long backoff = Math.min(maxBackoffMillis, retryBackoffMillis << Math.min(event.getAttempts() - 1, 20));
+            event.setNextAttemptAt(now.plus(Duration.ofMillis(backoff)));
+            event.setLastError(truncate(error != null ? error : "Storage did not confirm the delete"));
+            retry.add(event);
+        }
+        storageOutboxRepository.deleteAllInBatch(done);
+        storageOutboxRepository.saveAll(retry);
+        completed.add(done.size());
+        failedAttempts.add(retry.size());
+        return done.size();
+    }
+    
+    private static String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.StoredAsset;
+import com.example.SkillForge.repository.StoredAssetRepository;
+import com.example.SkillForge.storage.StoredVideo;
+import com.example.SkillForge.storage.VideoStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Content-addressed video storage: uploads are keyed by the SHA-256 of their bytes, and an
+ * upload whose content is already stored shares the existing asset instead of being sent
+ * again. Assets are reference counted; the stored file goes when its last video does, through
+ * the storage outbox so the delete commits (or not) with the change that released it.
+ */
+@Service
+@RequiredArgsConstructor
+public class StoredAssetService {
+    
+    private static final int MAX_ACQUIRE_ATTEMPTS = 3;
+    private static final int DIGEST_BUFFER_BYTES = 64 * 1024;
+    
+    private final StoredAssetRepository storedAssetRepository;
+    private final VideoStorage videoStorage;
+    private final VideoFaststartStage videoFaststartStage;
+    private final StorageOutboxService storageOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder removed = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    
+    /**
+     * Take a reference on the stored asset holding the content of {@code file}, storing it (after
+     * the faststart stage) only when no asset has that content yet. Each store goes under
+     * {@code newKey} plus a random suffix, so a retry never lands on a key whose delete is still
+     * queued from a failed attempt.
+     *
+     * @param contentDigest hex SHA-256 of the file if already known, otherwise it is computed here.
+     *                      Callers that retry must pass it, as the faststart stage rewrites the file in place
+     */
+    public StoredAsset acquire(Path file, String contentDigest, String newKey) throws IOException {
+        String digest = contentDigest != null ? contentDigest : digestOf(file);
+        for (int attempt = 1; ; attempt++) {
+            StoredAsset existing = storedAssetRepository
+                .findByContentDigestAndStorageType(digest, videoStorage.name())
+                .orElse(null);
+            if (existing != null) {
+                Integer updated = transactionTemplate.execute(status -> storedAssetRepository.acquireReference(existing.getId()));
+                if (updated != null && updated == 1) {
+                    reused.increment();
+                    bytesSaved.add(existing.getSizeBytes());
+                    return existing;
+                }
+                // Its last video released it a moment ago; it is about to be removed
+            } else {
+                videoFaststartStage.apply(file);
+                StoredVideo storedVideo = videoStorage.store(attemptKey(newKey), file);
+                try {
+                    StoredAsset asset = storedAssetRepository.saveAndFlush(new StoredAsset(null, digest, videoStorage.name(),
+                        storedVideo.getKey(), storedVideo.getPlaybackUrl(), storedVideo.getSizeBytes(),
+                        storedVideo.getDurationSeconds(), 1, null));
+                    stored.increment();
+                    return asset;
+                } catch (DataIntegrityViolationException e) {
+                    // Same content stored concurrently by another upload: drop this copy and share theirs
+                    storageOutboxService.enqueueDelete(storedVideo.getKey());
+                }
+            }
+            if (attempt >= MAX_ACQUIRE_ATTEMPTS) {
+                throw new IllegalStateException("Could not store video content " + digest);
+            }
+        }
+    }
+    
+    private static String attemptKey(String key) {
+        return key + "_" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    /**
+     * Drop one reference to the asset with this content; the stored file is queued for deletion
+     * with the last one. Joins the caller's transaction when there is one.
+     */
+    public void release(String contentDigest) {
+        StoredAsset asset = storedAssetRepository
+            .findByContentDigestAndStorageType(contentDigest, videoStorage.name())
+            .orElse(null);
+        if (asset == null) {
+            return;
+        }
+        Boolean unreferenced = transactionTemplate.execute(status -> {
+            boolean last = storedAssetRepository.releaseReference(asset.getId()) == 1
+                && storedAssetRepository.deleteIfUnreferenced(asset.getId()) == 1;
+            if (last) {
+                storageOutboxService.enqueueDelete(asset.getStorageKey());
+            }
+            return last;
+        });
+        released.increment();
+        if (Boolean.TRUE.equals(unreferenced)) {
+            removed.increment();
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stored", stored.sum());
+        stats.put("reused", reused.sum());
+        stats.put("bytesSaved", bytesSaved.sum());
+        stats.put("released", released.sum());
+        stats.put("removed", removed.sum());
+        return stats;
+    }
+    
+    /**
+     * Hex SHA-256 of a file, read sequentially through a small buffer.
+     */
+    public static String digestOf(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
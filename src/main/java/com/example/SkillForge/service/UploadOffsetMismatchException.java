@@ -0,0 +1,19 @@
+package com.example.SkillForge.service;
+
+/**
+ * Thrown when a chunk does not start where the upload currently ends; the client
+ * should resume from {@link #getCurrentOffset()}.
+ */
+public class UploadOffsetMismatchException extends RuntimeException {
+    
+    private final long currentOffset;
+    
+    public UploadOffsetMismatchException(long currentOffset) {
+        super("Chunk must start at offset " + currentOffset);
+        this.currentOffset = currentOffset;
+    }
+    
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+}
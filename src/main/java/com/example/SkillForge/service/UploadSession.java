@@ -0,0 +1,71 @@
+package com.example.SkillForge.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * State of one resumable upload. The spool file is preallocated to the full size;
+ * {@code offset} is the number of bytes received contiguously from the start.
+ */
+@Getter
+public class UploadSession {
+    
+    private final String id;
+    private final Long instructorId;
+    private final Long courseId;
+    private final String title;
+    private final long totalBytes;
+    private final Path spoolFile;
+    
+    private volatile long offset;
+    private volatile long lastActivityMillis;
+    
+    // One chunk at a time per session; a second concurrent writer is turned away
+    @Getter(AccessLevel.NONE)
+    final ReentrantLock lock = new ReentrantLock();
+    
+    // SHA-256 of bytes [0, offset), guarded by lock
+    @Getter(AccessLevel.NONE)
+    MessageDigest contentDigest;
+    
+    UploadSession(String id, Long instructorId, Long courseId, String title, long totalBytes, Path spoolFile,
+                  MessageDigest contentDigest) {
+        this.id = id;
+        this.instructorId = instructorId;
+        this.courseId = courseId;
+        this.title = title;
+        this.totalBytes = totalBytes;
+        this.spoolFile = spoolFile;
+        this.contentDigest = contentDigest;
+        this.lastActivityMillis = System.currentTimeMillis();
+    }
+    
+    void advanceTo(long newOffset) {
+        offset = newOffset;
+        touch();
+    }
+    
+    void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+    }
+    
+    /**
+     * Hex SHA-256 of everything received so far; the running digest is left untouched.
+     */
+    String contentDigestHex() {
+        try {
+            return HexFormat.of().formatHex(((MessageDigest) contentDigest.clone()).digest());
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+    }
+    
+    public boolean isComplete() {
+        return offset == totalBytes;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.User;
+import com.example.SkillForge.repository.UserRepository;
+import com.example.SkillForge.util.BoundedExpiringCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size- and TTL-bounded cache in front of the user lookups done on every login
+ * and authenticated request. Writes must go through {@link #save(User)} (or call
+ * {@link #invalidate(User)}) so cached copies never outlive an edit. Every lookup
+ * returns its own detached copy, so a caller changing its user (or principal)
+ * cannot leak the change into other requests through the cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserCacheService {
+    
+    private final UserRepository userRepository;
+    
+    @Value("${user-cache.max-entries:10000}")
+    private int maxEntries;
+    
+    @Value("${user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private BoundedExpiringCache<String, User> byEmail;
+    
+    @PostConstruct
+    void init() {
+        byEmail = new BoundedExpiringCache<>(maxEntries, ttlSeconds * 1000);
+    }
+    
+    public Optional<User> findByEmail(String email) {
+        User user = byEmail.getOrLoad(email, key -> userRepository.findByEmail(key).orElse(null));
+        return Optional.ofNullable(user).map(UserCacheService::copyOf);
+    }
+    
+    public User save(User user) {
+        User saved = userRepository.save(user);
+        invalidate(saved);
+        return saved;
+    }
+    
+    public void invalidate(User user) {
+        if (user.getEmail() != null) {
+            byEmail.invalidate(user.getEmail());
+        }
+    }
+    
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setRole(user.getRole());
+        copy.setEnabled(user.isEnabled());
+        copy.setTokensValidAfter(user.getTokensValidAfter());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byEmail", byEmail.stats());
+        return stats;
+    }
+}
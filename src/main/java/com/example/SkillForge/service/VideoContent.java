@@ -0,0 +1,20 @@
+package com.example.SkillForge.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Stored bytes of a video, as served by /api/videos/{id}/content.
+ */
+@Getter
+@AllArgsConstructor
+public class VideoContent {
+    
+    private final Long videoId;
+    private final String storageKey;
+    private final long sizeBytes;
+    private final String etag;
+    private final Path localPath; // null unless the storage keeps the file on local disk
+}
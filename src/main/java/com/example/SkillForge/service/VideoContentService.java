@@ -0,0 +1,121 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.enums.VideoStatus;
+import com.example.SkillForge.storage.VideoStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte access to videos kept in a storage backend the application serves itself. Files on
+ * local disk are copied with {@link FileChannel#transferTo} (or handed to the container's
+ * sendfile), so no part of a video passes through a heap buffer.
+ */
+@Service
+@RequiredArgsConstructor
+public class VideoContentService {
+    
+    private static final String CONTENT_PATH = "/api/videos/%d/content";
+    
+    private final VideoStorage videoStorage;
+    
+    private final LongAdder fullResponses = new LongAdder();
+    private final LongAdder partialResponses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder sendfileResponses = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+    
+    /**
+     * Path of the endpoint serving a video's bytes, used as its videoUrl when the storage has no URL of its own.
+     */
+    public static String contentPath(Long videoId) {
+        return String.format(CONTENT_PATH, videoId);
+    }
+    
+    public static boolean isServedByApplication(Video video) {
+        return contentPath(video.getId()).equals(video.getVideoUrl());
+    }
+    
+    /**
+     * Describe the bytes of a READY video. Videos the backend gives a playback URL of its own are
+     * refused: players are redirected there by /play, and proxying them would hold a request
+     * thread on an unbounded call to the backend.
+     */
+    public VideoContent resolve(Video video) throws IOException {
+        if (video.getStorageKey() == null || video.getStatus() != VideoStatus.READY || !isServedByApplication(video)) {
+            throw new RuntimeException("Video content not available");
+        }
+        Path localPath = videoStorage.localPath(video.getStorageKey());
+        long size;
+        String version;
+        if (localPath != null) {
+            size = Files.size(localPath);
+            version = Long.toHexString(Files.getLastModifiedTime(localPath).toMillis());
+        } else {
+            size = video.getFileSize() != null ? video.getFileSize() : 0;
+            version = Integer.toHexString(video.getStorageKey().hashCode());
+        }
+        // Strong validator: a stored key is only ever rewritten with the same upload
+        String etag = "\"" + video.getId() + "-" + Long.toHexString(size) + "-" + version + "\"";
+        return new VideoContent(video.getId(), video.getStorageKey(), size, etag, localPath);
+    }
+    
+    /**
+     * Copy {@code length} bytes starting at {@code offset} to {@code target}.
+     */
+    public long copyRange(VideoContent content, long offset, long length, WritableByteChannel target) throws IOException {
+        long written = 0;
+        if (content.getLocalPath() != null) {
+            try (FileChannel file = FileChannel.open(content.getLocalPath(), StandardOpenOption.READ)) {
+                while (written < length) {
+                    long sent = file.transferTo(offset + written, length - written, target);
+                    if (sent <= 0) {
+                        break; // File shrank underneath us
+                    }
+                    written += sent;
+                }
+            }
+        } else {
+            try (InputStream in = videoStorage.openRange(content.getStorageKey(), offset, length)) {
+                written = in.transferTo(Channels.newOutputStream(target));
+            }
+        }
+        bytesServed.add(written);
+        return written;
+    }
+    
+    public void recordResponse(boolean partial) {
+        (partial ? partialResponses : fullResponses).increment();
+    }
+    
+    public void recordSendfile(long length) {
+        sendfileResponses.increment();
+        bytesServed.add(length);
+    }
+    
+    public void recordNotModified() {
+        notModified.increment();
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("fullResponses", fullResponses.sum());
+        stats.put("partialResponses", partialResponses.sum());
+        stats.put("notModified", notModified.sum());
+        stats.put("sendfileResponses", sendfileResponses.sum());
+        stats.put("bytesServed", bytesServed.sum());
+        return stats;
+    }
+}
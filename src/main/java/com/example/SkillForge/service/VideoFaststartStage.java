@@ -0,0 +1,78 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.media.Mp4Faststart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Upload stage that moves the moov box of an MP4 in front of its media data before the file
+ * goes to storage, so progressive playback can start without fetching the end of the file.
+ * The file is rewritten in place (via a sibling temp file), so callers keep their path.
+ */
+@Component
+public class VideoFaststartStage {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoFaststartStage.class);
+    
+    @Value("${video.faststart.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${video.faststart.max-moov-bytes:67108864}")
+    private long maxMoovBytes;
+    
+    private final LongAdder rewritten = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rewriteMillis = new LongAdder();
+    
+    /**
+     * Make {@code file} faststart if it is an MP4 with moov at the end. Never fails the upload:
+     * on any problem the file is left as it was.
+     */
+    public void apply(Path file) {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        Path rewrite = file.resolveSibling(file.getFileName() + ".faststart");
+        try {
+            if (Mp4Faststart.rewrite(file, rewrite, Math.min(maxMoovBytes, Integer.MAX_VALUE))) {
+                Files.move(rewrite, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                rewritten.increment();
+                rewriteMillis.add(System.currentTimeMillis() - startedAt);
+            } else {
+                unchanged.increment();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            logger.warn("Faststart rewrite of {} failed, keeping the original: {}", file, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(rewrite);
+            } catch (IOException e) {
+                logger.warn("Could not delete {}: {}", rewrite, e.getMessage());
+            }
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        long count = rewritten.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("rewritten", count);
+        stats.put("unchanged", unchanged.sum());
+        stats.put("failed", failed.sum());
+        stats.put("avgRewriteMillis", count == 0 ? 0 : rewriteMillis.sum() / count);
+        return stats;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.media.Mp4Metadata;
+import com.example.SkillForge.media.Mp4Probe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills duration, resolution, bitrate and quality of an uploaded video from its file, so
+ * they are known whichever storage backend it ends up in.
+ */
+@Component
+public class VideoMetadataProbe {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoMetadataProbe.class);
+    
+    private final LongAdder probed = new LongAdder();
+    private final LongAdder unrecognized = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder probeNanos = new LongAdder();
+    
+    /**
+     * Probe {@code file} and copy what was found onto {@code video}. Never fails the upload:
+     * files that are not MP4 or cannot be read just leave the fields empty.
+     */
+    public Mp4Metadata apply(Video video, Path file) {
+        long startedAt = System.nanoTime();
+        try {
+            Mp4Metadata metadata = Mp4Probe.probe(file);
+            if (metadata == null) {
+                unrecognized.increment();
+                return null;
+            }
+            probed.increment();
+            video.setDurationSeconds(metadata.durationSeconds());
+            video.setBitrateKbps(metadata.getBitrateKbps());
+            if (metadata.getWidth() > 0) {
+                video.setWidth(metadata.getWidth());
+                video.setHeight(metadata.getHeight());
+                video.setVideoQuality(metadata.qualityLabel());
+            }
+            return metadata;
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            logger.warn("Could not read video metadata from {}: {}", file, e.getMessage());
+            return null;
+        } finally {
+            probeNanos.add(System.nanoTime() - startedAt);
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        long count = probed.sum() + unrecognized.sum() + failed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("probed", probed.sum());
+        stats.put("unrecognized", unrecognized.sum());
+        stats.put("failed", failed.sum());
+        stats.put("avgProbeMicros", count == 0 ? 0 : probeNanos.sum() / count / 1000);
+        return stats;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out the next Video.orderIndex per course from an in-memory counter that is
+ * seeded once from MAX(order_index). Indexes are spaced {@link #RANK_GAP} apart so a
+ * lesson can later be moved between two others by updating only its own row. The unique key on (course_id, order_index) catches
+ * the rare collision with another instance or a manual insert; the counter is then
+ * reseeded from the database and the insert retried.
+ */
+@Service
+@RequiredArgsConstructor
+public class VideoOrderAllocator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoOrderAllocator.class);
+    
+    public static final int RANK_GAP = 1024;
+    
+    private static final int MAX_ATTEMPTS = 3;
+    
+    private final VideoRepository videoRepository;
+    
+    private final ConcurrentHashMap<Long, AtomicInteger> nextIndexByCourse = new ConcurrentHashMap<>();
+    private final LongAdder collisions = new LongAdder();
+    
+    public int next(Long courseId) {
+        return nextIndexByCourse.computeIfAbsent(courseId, id -> new AtomicInteger(nextFromDatabase(id)))
+                .getAndAdd(RANK_GAP);
+    }
+    
+    /**
+     * Assign the next order index of the video's course and insert it, retrying with a
+     * fresh index if another writer took the same one.
+     */
+    public Video insert(Video video) {
+        Long courseId = video.getCourse().getId();
+        for (int attempt = 1; ; attempt++) {
+            video.setOrderIndex(next(courseId));
+            try {
+                return videoRepository.saveAndFlush(video);
+            } catch (DataIntegrityViolationException e) {
+                collisions.increment();
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warn("Order index {} already taken in course {}, reseeding", video.getOrderIndex(), courseId);
+                video.setId(null);
+                reseed(courseId);
+            }
+        }
+    }
+    
+    /**
+     * Move the counter past whatever is in the database now (after bulk reorders or collisions).
+     */
+    public void reseed(Long courseId) {
+        int fromDatabase = nextFromDatabase(courseId);
+        nextIndexByCourse.computeIfAbsent(courseId, id -> new AtomicInteger(fromDatabase))
+                .accumulateAndGet(fromDatabase, Math::max);
+    }
+    
+    public void courseDeleted(Long courseId) {
+        nextIndexByCourse.remove(courseId);
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedCourses", nextIndexByCourse.size());
+        stats.put("collisions", collisions.sum());
+        return stats;
+    }
+    
+    private int nextFromDatabase(Long courseId) {
+        Integer max = videoRepository.findMaxOrderIndexByCourseId(courseId);
+        return max == null ? 0 : max + RANK_GAP;
+    }
+}
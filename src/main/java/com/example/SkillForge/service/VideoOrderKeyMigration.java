@@ -0,0 +1,65 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Makes sure the unique key on videos (course_id, order_index) exists. Databases created before
+ * it was declared can hold duplicate indexes, which makes ddl-auto=update fail to add the key
+ * (it only logs the error). Those courses are renumbered here and the key is added, since
+ * {@link VideoOrderAllocator} relies on it to detect collisions.
+ */
+@Component
+@RequiredArgsConstructor
+public class VideoOrderKeyMigration implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoOrderKeyMigration.class);
+    
+    private final VideoRepository videoRepository;
+    private final VideoOrderAllocator videoOrderAllocator;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (videoRepository.countOrderKeyColumns() > 0) {
+                return;
+            }
+            List<Long> courseIds = videoRepository.findCourseIdsWithDuplicateOrderIndexes();
+            if (!courseIds.isEmpty()) {
+                logger.info("Renumbering lessons of {} courses with duplicate order indexes", courseIds.size());
+                transactionTemplate.executeWithoutResult(status -> courseIds.forEach(this::renumber));
+            }
+            transactionTemplate.executeWithoutResult(status -> videoRepository.addOrderKey());
+            courseIds.forEach(videoOrderAllocator::reseed);
+            logger.info("Added unique key uk_videos_course_order");
+        } catch (Exception e) {
+            logger.error("Could not add unique key uk_videos_course_order: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Spread the course's lessons {@link VideoOrderAllocator#RANK_GAP} apart, keeping their current
+     * order and breaking ties by id. There is no unique key yet, so rows can be rewritten directly.
+     */
+    private void renumber(Long courseId) {
+        List<Video> videos = new ArrayList<>(videoRepository.findByCourseIdOrderByOrderIndex(courseId));
+        videos.sort(Comparator.comparing(Video::getOrderIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Video::getId));
+        for (int i = 0; i < videos.size(); i++) {
+            videos.get(i).setOrderIndex(i * VideoOrderAllocator.RANK_GAP);
+        }
+        videoRepository.saveAll(videos);
+    }
+}
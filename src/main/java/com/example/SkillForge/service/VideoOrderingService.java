@@ -0,0 +1,311 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.dto.VideoReorderRequest;
+import com.example.SkillForge.entity.User;
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.repository.CourseRepository;
+import com.example.SkillForge.repository.VideoRank;
+import com.example.SkillForge.repository.VideoRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lesson reordering on sparse ranks. A move places the video halfway between its new
+ * neighbours, so only the moved rows are written. When two neighbours are adjacent the
+ * course is renumbered in place; courses whose gaps are getting small are renumbered
+ * in the background before that happens.
+ */
+@Service
+@RequiredArgsConstructor
+public class VideoOrderingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoOrderingService.class);
+    
+    private static final int RANK_GAP = VideoOrderAllocator.RANK_GAP;
+    private static final long MIN_RANK = Integer.MIN_VALUE / 2; // below this is reserved for renumbering
+    private static final long MAX_RANK = Integer.MAX_VALUE;
+    private static final long NO_RANK = Long.MIN_VALUE;
+    private static final int TIGHT_GAP = 8;
+    private static final int MAX_PROBES = 8;
+    
+    private final VideoRepository videoRepository;
+    private final CourseRepository courseRepository;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final VideoOrderAllocator videoOrderAllocator;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${video.reorder.max-moves:500}")
+    private int maxMoves;
+    
+    private final Set<Long> tightCourses = ConcurrentHashMap.newKeySet();
+    private final LongAdder movesApplied = new LongAdder();
+    private final LongAdder inlineRebalances = new LongAdder();
+    private final LongAdder backgroundRebalances = new LongAdder();
+    
+    /**
+     * Apply a batch of moves in order, in one transaction. Returns the new orderIndex of each moved
+     * video, or of every video in the course when the moves had to renumber it.
+     */
+    @Transactional
+    public Map<Long, Integer> reorder(Long courseId, List<VideoReorderRequest.Move> moves, User instructor) {
+        if (!courseOwnershipIndex.isOwner(courseId, instructor.getId())) {
+            throw new SecurityException("Only course instructor can reorder videos");
+        }
+        if (moves == null || moves.isEmpty()) {
+            throw new IllegalArgumentException("At least one move is required");
+        }
+        if (moves.size() > maxMoves) {
+            throw new IllegalArgumentException("At most " + maxMoves + " moves are allowed per request");
+        }
+        
+        // Serializes reorders and renumbering of the same course
+        courseRepository.findByIdForUpdate(courseId)
+            .orElseThrow(() -> new RuntimeException("Course not found"));
+        
+        Set<Long> videoIds = new HashSet<>();
+        for (VideoReorderRequest.Move move : moves) {
+            if (move.getVideoId() == null) {
+                throw new IllegalArgumentException("videoId is required");
+            }
+            if (move.getVideoId().equals(move.getAfterVideoId())) {
+                throw new IllegalArgumentException("A video cannot be placed after itself");
+            }
+            videoIds.add(move.getVideoId());
+            if (move.getAfterVideoId() != null) {
+                videoIds.add(move.getAfterVideoId());
+            }
+        }
+        
+        Map<Long, Video> videos = new HashMap<>();
+        for (Video video : videoRepository.findAllById(videoIds)) {
+            if (!courseId.equals(video.getCourse().getId())) {
+                throw new IllegalArgumentException("Video " + video.getId() + " does not belong to this course");
+            }
+            videos.put(video.getId(), video);
+        }
+        if (videos.size() != videoIds.size()) {
+            throw new RuntimeException("Video not found");
+        }
+        
+        RankPlan plan = new RankPlan(courseId, videos);
+        if (videos.values().stream().anyMatch(video -> video.getOrderIndex() == null)) {
+            plan.renumber();
+        }
+        for (VideoReorderRequest.Move move : moves) {
+            plan.move(move.getVideoId(), move.getAfterVideoId());
+        }
+        Map<Long, Integer> result = plan.apply();
+        
+        movesApplied.add(moves.size());
+        reseedAllocatorAfterCommit(courseId);
+        return result;
+    }
+    
+    /**
+     * Renumber courses whose gaps got small, so interactive moves rarely have to do it inline.
+     */
+    @Scheduled(fixedDelayString = "${video.reorder.rebalance-interval-ms:60000}")
+    public void rebalanceTightCourses() {
+        for (Long courseId : List.copyOf(tightCourses)) {
+            tightCourses.remove(courseId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (courseRepository.findByIdForUpdate(courseId).isPresent()) {
+                        renumber(videoRepository.findByCourseIdOrderByOrderIndex(courseId));
+                    }
+                });
+                videoOrderAllocator.reseed(courseId);
+                backgroundRebalances.increment();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to rebalance lesson order of course {}: {}", courseId, e.getMessage());
+            }
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("movesApplied", movesApplied.sum());
+        stats.put("inlineRebalances", inlineRebalances.sum());
+        stats.put("backgroundRebalances", backgroundRebalances.sum());
+        stats.put("pendingRebalances", tightCourses.size());
+        return stats;
+    }
+    
+    /**
+     * Rewrite the given videos (in their current order) to evenly spaced ranks. Every row
+     * first gets a temporary rank below MIN_RANK so the unique key never sees a duplicate.
+     */
+    private void renumber(List<Video> videos) {
+        List<Video> ordered = new ArrayList<>(videos);
+        ordered.sort(Comparator.comparing(Video::getOrderIndex, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Video::getId));
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).setOrderIndex(Integer.MIN_VALUE + i);
+        }
+        videoRepository.flush();
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).setOrderIndex(i * RANK_GAP);
+        }
+        videoRepository.flush();
+    }
+    
+    private void reseedAllocatorAfterCommit(Long courseId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                videoOrderAllocator.reseed(courseId);
+            }
+        });
+    }
+    
+    /**
+     * Ranks chosen so far in one reorder request. Nothing is written until {@link #apply()},
+     * so neighbour queries see the database as it was and the plan overlays its own moves.
+     */
+    private final class RankPlan {
+        
+        private final Long courseId;
+        private final Map<Long, Video> videos;
+        private final Map<Long, Integer> planned = new LinkedHashMap<>();
+        private final Map<Integer, Long> vacated = new HashMap<>(); // old rank -> moved video, still held in the database
+        private List<Video> renumbered; // every video of the course, once it has been renumbered
+        
+        RankPlan(Long courseId, Map<Long, Video> videos) {
+            this.courseId = courseId;
+            this.videos = videos;
+        }
+        
+        void move(Long videoId, Long afterVideoId) {
+            Integer rank = pickRank(videoId, afterVideoId);
+            if (rank == null) {
+                renumber();
+                rank = pickRank(videoId, afterVideoId);
+                if (rank == null) {
+                    throw new IllegalStateException("No free rank after renumbering course " + courseId);
+                }
+            }
+            if (!planned.containsKey(videoId)) {
+                vacated.put(videos.get(videoId).getOrderIndex(), videoId);
+            }
+            planned.put(videoId, rank);
+        }
+        
+        Map<Long, Integer> apply() {
+            planned.forEach((videoId, rank) -> videos.get(videoId).setOrderIndex(rank));
+            if (renumbered == null) {
+                return planned;
+            }
+            // Same persistence context, so these are the instances the moves were applied to
+            Map<Long, Integer> ranks = new LinkedHashMap<>();
+            renumbered.stream()
+                .sorted(Comparator.comparing(Video::getOrderIndex))
+                .forEach(video -> ranks.put(video.getId(), video.getOrderIndex()));
+            return ranks;
+        }
+        
+        void renumber() {
+            // Bring the planned moves into the entities first so they survive the renumbering
+            apply();
+            renumbered = videoRepository.findByCourseIdOrderByOrderIndex(courseId);
+            VideoOrderingService.this.renumber(renumbered);
+            planned.clear();
+            vacated.clear();
+            inlineRebalances.increment();
+        }
+        
+        private Integer pickRank(Long videoId, Long afterVideoId) {
+            long lower = afterVideoId == null ? NO_RANK : rankOf(afterVideoId);
+            long upper = nextRank(lower, videoId);
+            
+            long preferred;
+            long low;
+            long high;
+            if (lower == NO_RANK && upper == NO_RANK) {
+                preferred = 0;
+                low = MIN_RANK;
+                high = MAX_RANK;
+            } else if (upper == NO_RANK) {
+                preferred = lower + RANK_GAP;
+                low = lower + 1;
+                high = MAX_RANK;
+            } else if (lower == NO_RANK) {
+                preferred = upper - RANK_GAP;
+                low = MIN_RANK;
+                high = upper - 1;
+            } else {
+                preferred = lower + (upper - lower) / 2;
+                low = lower + 1;
+                high = upper - 1;
+            }
+            
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                for (long candidate : new long[] { preferred + probe, preferred - probe }) {
+                    if (candidate < low || candidate > high) {
+                        continue;
+                    }
+                    Long holder = vacated.get((int) candidate);
+                    if (holder != null && !holder.equals(videoId)) {
+                        continue;
+                    }
+                    if ((lower != NO_RANK && candidate - lower < TIGHT_GAP)
+                            || (upper != NO_RANK && upper - candidate < TIGHT_GAP)
+                            || MAX_RANK - candidate < (long) RANK_GAP * RANK_GAP
+                            || candidate - MIN_RANK < (long) RANK_GAP * RANK_GAP) {
+                        tightCourses.add(courseId);
+                    }
+                    return (int) candidate;
+                }
+            }
+            return null;
+        }
+        
+        private long rankOf(Long videoId) {
+            Integer rank = planned.get(videoId);
+            return rank != null ? rank : videos.get(videoId).getOrderIndex();
+        }
+        
+        /**
+         * Rank of the video that currently follows {@code lower}, ignoring the video being moved.
+         */
+        private long nextRank(long lower, Long movingVideoId) {
+            long next = NO_RANK;
+            int afterRank = lower == NO_RANK ? Integer.MIN_VALUE : (int) lower;
+            // Rows moved in this plan still sit at their old rank in the database, so read past them
+            List<VideoRank> following = videoRepository.findRanksAfter(
+                courseId, afterRank, PageRequest.of(0, planned.size() + 2));
+            for (VideoRank rank : following) {
+                if (!rank.getId().equals(movingVideoId) && !planned.containsKey(rank.getId())) {
+                    next = rank.getOrderIndex();
+                    break;
+                }
+            }
+            for (Map.Entry<Long, Integer> entry : planned.entrySet()) {
+                if (!entry.getKey().equals(movingVideoId) && entry.getValue() > afterRank
+                        && (next == NO_RANK || entry.getValue() < next)) {
+                    next = entry.getValue();
+                }
+            }
+            return next;
+        }
+    }
+}
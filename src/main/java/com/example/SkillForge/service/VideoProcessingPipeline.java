@@ -0,0 +1,217 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.entity.Video;
+import com.example.SkillForge.enums.VideoStatus;
+import com.example.SkillForge.repository.VideoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs video processing (remote transfer, thumbnails, ...) off the request thread on a
+ * small bounded pool. Failed attempts are retried with exponential backoff; after the
+ * last attempt the video is marked FAILED. The pipeline owns the spooled file it is
+ * given and deletes it when processing ends either way.
+ */
+@Service
+public class VideoProcessingPipeline implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VideoProcessingPipeline.class);
+    
+    /**
+     * One processing attempt for a video whose content is in a local file.
+     */
+    @FunctionalInterface
+    public interface VideoProcessor {
+        void process(Long videoId, Path file) throws Exception;
+    }
+    
+    private final VideoRepository videoRepository;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryScheduler;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long staleMinutes;
+    
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public VideoProcessingPipeline(
+            VideoRepository videoRepository,
+            @Value("${video.processing.threads:2}") int threads,
+            @Value("${video.processing.queue-capacity:20}") int queueCapacity,
+            @Value("${video.processing.max-attempts:3}") int maxAttempts,
+            @Value("${video.processing.retry-backoff-ms:5000}") long retryBackoffMillis,
+            @Value("${video.processing.stale-minutes:180}") long staleMinutes) {
+        this.videoRepository = videoRepository;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.staleMinutes = staleMinutes;
+        this.workers = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                namedDaemonThreads("video-processing-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(namedDaemonThreads("video-processing-retry-"));
+    }
+    
+    /**
+     * Queue processing of an already persisted video. On success the pipeline owns {@code file};
+     * if the queue is full nothing is queued, the file is left to the caller and the call throws.
+     */
+    public void submit(Video video, Path file, VideoProcessor processor) {
+        Long videoId = video.getId();
+        inFlight.add(videoId);
+        try {
+            workers.execute(() -> runAttempt(videoId, file, processor, 1));
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(videoId);
+            rejected.increment();
+            throw new VideoProcessingQueueFullException(retryAfterSeconds());
+        }
+    }
+    
+    public boolean hasCapacity() {
+        return workers.getQueue().remainingCapacity() > 0;
+    }
+    
+    /**
+     * Rough wait before a rejected upload is worth retrying: one backoff period, at least a second.
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryBackoffMillis));
+    }
+    
+    /**
+     * Mark videos that have been UPLOADING/PROCESSING for too long, and are not being worked on
+     * by this instance, as FAILED (e.g. after a restart lost their job).
+     */
+    @Scheduled(fixedDelayString = "${video.processing.stale-check-ms:600000}")
+    public void failStaleVideos() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleMinutes);
+        List<Video> stale = videoRepository.findByStatusInAndUpdatedAtBefore(
+                List.of(VideoStatus.UPLOADING, VideoStatus.PROCESSING), cutoff);
+        for (Video video : stale) {
+            if (!inFlight.contains(video.getId())) {
+                logger.warn("Video {} stuck in {} since {}, marking as FAILED", video.getId(), video.getStatus(), video.getUpdatedAt());
+                video.setStatus(VideoStatus.FAILED);
+                videoRepository.save(video);
+            }
+        }
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", workers.getMaximumPoolSize());
+        stats.put("activeThreads", workers.getActiveCount());
+        stats.put("queueDepth", workers.getQueue().size());
+        stats.put("inFlight", inFlight.size());
+        stats.put("submitted", submitted.sum());
+        stats.put("succeeded", succeeded.sum());
+        stats.put("retried", retried.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+    
+    @Override
+    public void destroy() {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+    }
+    
+    private void runAttempt(Long videoId, Path file, VideoProcessor processor, int attempt) {
+        try {
+            processor.process(videoId, file);
+            succeeded.increment();
+            finish(videoId, file);
+        } catch (Exception e) {
+            if (attempt < maxAttempts && scheduleRetry(videoId, file, processor, attempt + 1)) {
+                logger.warn("Processing of video {} failed (attempt {}/{}): {}", videoId, attempt, maxAttempts, e.getMessage());
+                return;
+            }
+            logger.error("Processing of video {} failed after {} attempt(s)", videoId, attempt, e);
+            failed.increment();
+            markFailed(videoId);
+            finish(videoId, file);
+        }
+    }
+    
+    private boolean scheduleRetry(Long videoId, Path file, VideoProcessor processor, int attempt) {
+        long delay = retryBackoffMillis << Math.min(attempt - 2, 10);
+        try {
+            retryScheduler.schedule(() -> {
+                try {
+                    workers.execute(() -> runAttempt(videoId, file, processor, attempt));
+                } catch (RejectedExecutionException e) {
+                    rejected.increment();
+                    failed.increment();
+                    markFailed(videoId);
+                    finish(videoId, file);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            retried.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false; // Shutting down
+        }
+    }
+    
+    private void markFailed(Long videoId) {
+        try {
+            videoRepository.findById(videoId).ifPresent(video -> {
+                video.setStatus(VideoStatus.FAILED);
+                videoRepository.save(video);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Could not mark video {} as FAILED", videoId, e);
+        }
+    }
+    
+    private void finish(Long videoId, Path file) {
+        inFlight.remove(videoId);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete processed video file {}: {}", file, e.getMessage());
+        }
+    }
+    
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
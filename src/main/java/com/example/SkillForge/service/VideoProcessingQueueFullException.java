@@ -0,0 +1,19 @@
+package com.example.SkillForge.service;
+
+/**
+ * Thrown when the video processing pipeline cannot take another job; the client
+ * should retry the upload after {@link #getRetryAfterSeconds()}.
+ */
+public class VideoProcessingQueueFullException extends IllegalStateException {
+    
+    private final long retryAfterSeconds;
+    
+    public VideoProcessingQueueFullException(long retryAfterSeconds) {
+        super("Video processing queue is full, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -4,7 +4,6 @@ import com.example.SkillForge.entity.Video;
 import com.example.SkillForge.entity.Course;
 import com.example.SkillForge.entity.User;
 import com.example.SkillForge.repository.VideoRepository;
-import com.example.SkillForge.repository.EnrollmentRepository;
 import com.example.SkillForge.enums.VideoType;
 import com.example.SkillForge.enums.VideoStatus;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +16,10 @@ import java.util.List;
 public class VideoServiceClean {
     
     private final VideoRepository videoRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final EntitlementIndex entitlementIndex;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final VideoOrderAllocator videoOrderAllocator;
+    private final CourseCatalogService courseCatalogService;
     
     /**
      * OPTION 1: YouTube Integration (FREE & RECOMMENDED)
@@ -25,7 +27,7 @@ public class VideoServiceClean {
      */
     public Video createVideoWithYouTubeLink(String title, String youtubeUrl, Course course, User instructor) {
         // Validate instructor owns the course
-        if (!course.getInstructor().getId().equals(instructor.getId())) {
+        if (!courseOwnershipIndex.isOwner(course.getId(), instructor.getId())) {
             throw new SecurityException("Instructor can only add videos to their own courses");
         }
         
@@ -35,9 +37,10 @@ public class VideoServiceClean {
         video.setVideoUrl(youtubeUrl); // YouTube URL like: https://youtu.be/VIDEO_ID
         video.setVideoType(VideoType.LESSON);
         video.setStatus(VideoStatus.READY);
-        video.setOrderIndex(getNextOrderIndex(course.getId()));
         
-        return videoRepository.save(video);
+        Video saved = videoOrderAllocator.insert(video);
+        courseCatalogService.courseChanged(course.getId());
+        return saved;
     }
     
     /**
@@ -53,9 +56,7 @@ public class VideoServiceClean {
         }
         
         // Check if student has paid for the course
-        boolean hasAccess = enrollmentRepository.existsByStudentIdAndCourseIdAndPaymentStatus(
-            student.getId(), video.getCourse().getId(), "COMPLETED"
-        );
+        boolean hasAccess = entitlementIndex.hasPaidAccess(student.getId(), video.getCourse().getId());
         
         if (!hasAccess) {
             throw new SecurityException("Payment required to access this video");
@@ -76,9 +77,7 @@ public class VideoServiceClean {
         }
         
         // If user is a student, check enrollment
-        boolean hasAccess = enrollmentRepository.existsByStudentIdAndCourseIdAndPaymentStatus(
-            user.getId(), courseId, "COMPLETED"
-        );
+        boolean hasAccess = entitlementIndex.hasPaidAccess(user.getId(), courseId);
         
         if (hasAccess) {
             return allVideos; // Return all videos if paid
@@ -97,7 +96,7 @@ public class VideoServiceClean {
         Video video = videoRepository.findById(videoId)
             .orElseThrow(() -> new RuntimeException("Video not found"));
         
-        if (!video.getCourse().getInstructor().getId().equals(instructor.getId())) {
+        if (!courseOwnershipIndex.isOwner(video.getCourse().getId(), instructor.getId())) {
             throw new SecurityException("Only course instructor can modify videos");
         }
         
@@ -106,13 +105,7 @@ public class VideoServiceClean {
     }
     
     // Helper methods
-    private int getNextOrderIndex(Long courseId) {
-        return videoRepository.findByCourseIdOrderByOrderIndex(courseId).size();
-    }
-    
     private boolean isInstructorOfCourse(User user, Long courseId) {
-        return videoRepository.findByCourseIdOrderByOrderIndex(courseId)
-            .stream()
-            .anyMatch(video -> video.getCourse().getInstructor().getId().equals(user.getId()));
+        return courseOwnershipIndex.isOwner(courseId, user.getId());
     }
 }
\ No newline at end of file
@@ -2,17 +2,19 @@ package com.example.SkillForge.service;
 
 import com.example.SkillForge.entity.Video;
 import com.example.SkillForge.entity.Course;
+import com.example.SkillForge.entity.StoredAsset;
 import com.example.SkillForge.entity.User;
-import com.example.SkillForge.entity.Enrollment;
 import com.example.SkillForge.repository.VideoRepository;
-import com.example.SkillForge.repository.EnrollmentRepository;
+import com.example.SkillForge.storage.VideoStorage;
 import com.example.SkillForge.enums.VideoType;
 import com.example.SkillForge.enums.VideoStatus;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,7 +23,13 @@ import java.util.UUID;
 public class VideoServiceNew {
     
     private final VideoRepository videoRepository;
-    private final EnrollmentRepository enrollmentRepository;
+    private final EntitlementIndex entitlementIndex;
+    private final CourseOwnershipIndex courseOwnershipIndex;
+    private final VideoOrderAllocator videoOrderAllocator;
+    private final VideoStorage videoStorage;
+    private final VideoMetadataProbe videoMetadataProbe;
+    private final StoredAssetService storedAssetService;
+    private final CourseCatalogService courseCatalogService;
     
     /**
      * OPTION 1: YouTube Integration (FREE)
@@ -29,7 +37,7 @@ public class VideoServiceNew {
      */
     public Video createVideoWithYouTubeLink(String title, String youtubeUrl, Course course, User instructor) {
         // Validate instructor owns the course
-        if (!course.getInstructor().getId().equals(instructor.getId())) {
+        if (!courseOwnershipIndex.isOwner(course.getId(), instructor.getId())) {
             throw new SecurityException("Instructor can only add videos to their own courses");
         }
         
@@ -39,14 +47,15 @@ public class VideoServiceNew {
         video.setVideoUrl(youtubeUrl); // YouTube URL
         video.setVideoType(VideoType.LESSON);
         video.setStatus(VideoStatus.READY);
-        video.setOrderIndex(getNextOrderIndex(course.getId()));
         
-        return videoRepository.save(video);
+        video = videoOrderAllocator.insert(video);
+        courseCatalogService.courseChanged(course.getId());
+        return video;
     }
     
     /**
      * OPTION 2: Cloudinary Integration (FREE TIER)
-     * 25GB storage + 25GB bandwidth per month
+     * 25GB storage + 25GB bandwidth per month. Goes through the configured VideoStorage.
      */
     public Video uploadVideoToCloudinary(MultipartFile videoFile, String title, Course course, User instructor) {
         try {
@@ -56,24 +65,12 @@ public class VideoServiceNew {
             }
             
             // Validate instructor
-            if (!course.getInstructor().getId().equals(instructor.getId())) {
+            if (!courseOwnershipIndex.isOwner(course.getId(), instructor.getId())) {
                 throw new SecurityException("Instructor can only upload to their own courses");
             }
             
-            // Upload to Cloudinary (you'll need to add Cloudinary dependency)
             String publicId = "skillforge/course_" + course.getId() + "/" + UUID.randomUUID();
-            String cloudinaryUrl = uploadToCloudinary(videoFile, publicId);
-            
-            Video video = new Video();
-            video.setTitle(title);
-            video.setCourse(course);
-            video.setVideoUrl(cloudinaryUrl);
-            video.setFileSize(videoFile.getSize());
-            video.setVideoType(VideoType.LESSON);
-            video.setStatus(VideoStatus.READY);
-            video.setOrderIndex(getNextOrderIndex(course.getId()));
-            
-            return videoRepository.save(video);
+            return storeAndInsert(videoFile, publicId, title, course);
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload video: " + e.getMessage());
@@ -82,23 +79,14 @@ public class VideoServiceNew {
     
     /**
      * OPTION 3: Firebase Storage (FREE TIER)
-     * 5GB storage + 1GB download per day
+     * 5GB storage + 1GB download per day. There is no Firebase backend yet, so this also
+     * goes through the configured VideoStorage.
      */
     public Video uploadVideoToFirebase(MultipartFile videoFile, String title, Course course, User instructor) {
         try {
-            // Similar implementation but using Firebase
-            String fileName = "videos/" + course.getId() + "/" + UUID.randomUUID() + getFileExtension(videoFile);
-            String firebaseUrl = uploadToFirebaseStorage(videoFile, fileName);
-            
-            Video video = new Video();
-            video.setTitle(title);
-            video.setCourse(course);
-            video.setVideoUrl(firebaseUrl);
-            video.setFileSize(videoFile.getSize());
-            video.setVideoType(VideoType.LESSON);
-            video.setStatus(VideoStatus.READY);
-            
-            return videoRepository.save(video);
+            // Same storage path; only the key layout differs
+            String fileName = "videos/" + course.getId() + "/" + UUID.randomUUID();
+            return storeAndInsert(videoFile, fileName, title, course);
             
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload to Firebase: " + e.getMessage());
@@ -126,9 +114,7 @@ public class VideoServiceNew {
         }
         
         // Check if student has paid for the course
-        boolean hasAccess = enrollmentRepository.existsByStudentIdAndCourseIdAndPaymentStatus(
-            student.getId(), video.getCourse().getId(), "COMPLETED"
-        );
+        boolean hasAccess = entitlementIndex.hasPaidAccess(student.getId(), video.getCourse().getId());
         
         if (!hasAccess) {
             throw new SecurityException("Payment required to access this video");
@@ -149,9 +135,7 @@ public class VideoServiceNew {
         }
         
         // If user is a student, check enrollment
-        boolean hasAccess = enrollmentRepository.existsByStudentIdAndCourseIdAndPaymentStatus(
-            user.getId(), courseId, "COMPLETED"
-        );
+        boolean hasAccess = entitlementIndex.hasPaidAccess(user.getId(), courseId);
         
         if (hasAccess) {
             return allVideos; // Return all videos if paid
@@ -169,31 +153,50 @@ public class VideoServiceNew {
         return contentType != null && contentType.startsWith("video/");
     }
     
-    private String getFileExtension(MultipartFile file) {
-        String originalName = file.getOriginalFilename();
-        return originalName != null ? originalName.substring(originalName.lastIndexOf(".")) : ".mp4";
-    }
-    
-    private int getNextOrderIndex(Long courseId) {
-        return videoRepository.findByCourseIdOrderByOrderIndex(courseId).size();
+    /**
+     * Store an upload through the configured VideoStorage (sharing already stored content), via a
+     * temp file so it is never held in memory, and insert its Video with the metadata read from the file.
+     */
+    private Video storeAndInsert(MultipartFile file, String key, String title, Course course) throws IOException {
+        Path temp = Files.createTempFile("video-", ".part");
+        try {
+            file.transferTo(temp);
+            Video video = new Video();
+            videoMetadataProbe.apply(video, temp);
+            StoredAsset asset = storedAssetService.acquire(temp, null, key);
+            
+            try {
+                video.setTitle(title);
+                video.setCourse(course);
+                video.setStorageKey(asset.getStorageKey());
+                video.setContentDigest(asset.getContentDigest());
+                video.setVideoUrl(asset.getPlaybackUrl() != null ? asset.getPlaybackUrl() : "");
+                video.setThumbnailUrl(videoStorage.thumbnailUrl(asset.getStorageKey()));
+                video.setFileSize(asset.getSizeBytes());
+                if (video.getDurationSeconds() == null) {
+                    video.setDurationSeconds(asset.getDurationSeconds());
+                }
+                video.setVideoType(VideoType.LESSON);
+                video.setStatus(VideoStatus.READY);
+                
+                video = videoOrderAllocator.insert(video);
+                if (asset.getPlaybackUrl() == null) {
+                    // Served by this application
+                    video.setVideoUrl(VideoContentService.contentPath(video.getId()));
+                    video = videoRepository.save(video);
+                }
+                courseCatalogService.courseChanged(course.getId());
+                return video;
+            } catch (RuntimeException e) {
+                storedAssetService.release(asset.getContentDigest());
+                throw e;
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
     }
     
     private boolean isInstructorOfCourse(User user, Long courseId) {
-        return videoRepository.findByCourseIdOrderByOrderIndex(courseId)
-            .stream()
-            .anyMatch(video -> video.getCourse().getInstructor().getId().equals(user.getId()));
-    }
-    
-    // Placeholder methods - implement based on chosen service
-    private String uploadToCloudinary(MultipartFile file, String publicId) {
-        // TODO: Implement Cloudinary upload
-        // Return: https://res.cloudinary.com/your-cloud/video/upload/v123/skillforge/course_1/uuid.mp4
-        return "https://res.cloudinary.com/skillforge/video/upload/" + publicId + ".mp4";
-    }
-    
-    private String uploadToFirebaseStorage(MultipartFile file, String fileName) {
-        // TODO: Implement Firebase Storage upload
-        // Return: https://firebasestorage.googleapis.com/v0/b/skillforge/o/videos%2F...
-        return "https://firebasestorage.googleapis.com/v0/b/skillforge/o/" + fileName;
+        return courseOwnershipIndex.isOwner(courseId, user.getId());
     }
 }
\ No newline at end of file
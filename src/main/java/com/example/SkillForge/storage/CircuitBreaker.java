@@ -0,0 +1,152 @@
+package com.example.SkillForge.storage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. It opens when the failure rate over the last {@code windowSize}
+ * calls reaches the threshold, rejects calls while open, then lets a few probe calls through
+ * (half-open): if they all succeed it closes again, if one fails it reopens.
+ */
+public class CircuitBreaker {
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private final boolean[] window;
+    private final int minCalls;
+    private final int failureRatePercent;
+    private final long openMillis;
+    private final int halfOpenProbes;
+    private final LongSupplier clockMillis;
+    
+    private State state = State.CLOSED;
+    private int calls;
+    private int failures;
+    private int next;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long timesOpened;
+    private long shortCircuited;
+    
+    public CircuitBreaker(int windowSize, int minCalls, int failureRatePercent, long openMillis, int halfOpenProbes) {
+        this(windowSize, minCalls, failureRatePercent, openMillis, halfOpenProbes, System::currentTimeMillis);
+    }
+    
+    CircuitBreaker(int windowSize, int minCalls, int failureRatePercent, long openMillis, int halfOpenProbes,
+                   LongSupplier clockMillis) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, window.length));
+        this.failureRatePercent = failureRatePercent;
+        this.openMillis = openMillis;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.clockMillis = clockMillis;
+    }
+    
+    /**
+     * Whether a call may go ahead now. Every permitted call must report exactly one outcome.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clockMillis.getAsLong() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probesStarted < halfOpenProbes) {
+                    probesStarted++;
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        shortCircuited++;
+        return false;
+    }
+    
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                state = State.CLOSED;
+                resetWindow();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+    
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minCalls && failures * 100 >= failureRatePercent * calls) {
+                open();
+            }
+        }
+    }
+    
+    /**
+     * A permitted call was not made after all; frees its probe slot without recording an outcome.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+    
+    public synchronized State state() {
+        return state;
+    }
+    
+    /**
+     * Seconds until an open breaker lets probes through, at least one.
+     */
+    public synchronized long retryAfterSeconds() {
+        long remaining = state == State.OPEN ? openedAt + openMillis - clockMillis.getAsLong() : 0;
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+    
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state.name());
+        stats.put("windowCalls", calls);
+        stats.put("windowFailures", failures);
+        stats.put("timesOpened", timesOpened);
+        stats.put("shortCircuited", shortCircuited);
+        return stats;
+    }
+    
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+    
+    private void open() {
+        state = State.OPEN;
+        openedAt = clockMillis.getAsLong();
+        timesOpened++;
+        resetWindow();
+    }
+    
+    private void resetWindow() {
+        calls = 0;
+        failures = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,600 @@
+package com.example.SkillForge.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for the parts of the Cloudinary API this application uses: upload (including
+ * the chunked uploads of {@code uploadLarge}), destroy, resource lookup and bulk delete. Point
+ * the SDK at it with the {@code upload_prefix} setting. Uploaded bytes are counted and thrown
+ * away as they stream in (memory per request is one read buffer, whatever the upload size);
+ * only the resource metadata is kept.
+ * <p>
+ * Latency, upload bandwidth and error rate can be set up front and changed while it runs, to
+ * measure the upload pipeline against a slow or flaky upstream without a real account.
+ * Signatures and credentials are not checked.
+ */
+public class CloudinaryEmulator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CloudinaryEmulator.class);
+    
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_FIELD_BYTES = 1024 * 1024;
+    private static final String CONTENT_RANGE_HEADER = "Content-Range";
+    private static final String UPLOAD_ID_HEADER = "X-Unique-Upload-Id";
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+    private final Map<String, Long> partialUploads = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    
+    private final int threads;
+    private final long maxRequestBytes;
+    private volatile long latencyMillis;
+    private volatile long latencyJitterMillis;
+    private volatile long bandwidthBytesPerSecond;
+    private volatile double errorRate;
+    
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    public CloudinaryEmulator(int threads, long maxRequestBytes) {
+        this.threads = Math.max(1, threads);
+        this.maxRequestBytes = maxRequestBytes;
+    }
+    
+    /**
+     * Start listening on {@code host:port} (port 0 picks a free one). Returns the URL to use as
+     * the SDK's {@code upload_prefix}.
+     */
+    public synchronized String start(String host, int port) throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "cloudinary-emulator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Cloudinary emulator listening on {}", baseUrl());
+        return baseUrl();
+    }
+    
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+    
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+    
+    /**
+     * Fixed delay before every response, plus a uniformly random extra of up to {@code jitterMillis}.
+     */
+    public void setLatency(long millis, long jitterMillis) {
+        this.latencyMillis = Math.max(0, millis);
+        this.latencyJitterMillis = Math.max(0, jitterMillis);
+    }
+    
+    /**
+     * Rate at which request bodies are read, in bytes per second; 0 means unlimited.
+     */
+    public void setBandwidthBytesPerSecond(long bytesPerSecond) {
+        this.bandwidthBytesPerSecond = Math.max(0, bytesPerSecond);
+    }
+    
+    /**
+     * Fraction of requests (0 to 1) answered with an HTTP 500 after their body is read.
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = Math.min(1.0, Math.max(0.0, errorRate));
+    }
+    
+    public boolean hasResource(String publicId) {
+        return resources.containsKey(publicId);
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("latencyMillis", latencyMillis);
+        stats.put("latencyJitterMillis", latencyJitterMillis);
+        stats.put("bandwidthBytesPerSecond", bandwidthBytesPerSecond);
+        stats.put("errorRate", errorRate);
+        stats.put("resources", resources.size());
+        stats.put("partialUploads", partialUploads.size());
+        stats.put("bytesReceived", bytesReceived.sum());
+        stats.put("injectedErrors", injectedErrors.sum());
+        Map<String, Object> counts = new LinkedHashMap<>();
+        requests.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        stats.put("requests", counts);
+        return stats;
+    }
+    
+    private void handle(HttpExchange exchange) {
+        try (exchange) {
+            dispatch(exchange);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Cloudinary emulator request failed: {}", e.getMessage());
+        }
+    }
+    
+    private void dispatch(HttpExchange exchange) throws IOException {
+        try {
+            // /v1_1/{cloud}/{resource_type}/{action} or /v1_1/{cloud}/resources/{resource_type}/upload[/{public_id}]
+            String[] path = exchange.getRequestURI().getRawPath().split("/", 7);
+            if (path.length < 5 || !"v1_1".equals(path[1])) {
+                send(exchange, 404, error("Unknown endpoint " + exchange.getRequestURI().getPath()));
+                return;
+            }
+            String cloudName = path[2];
+            Request request = readRequest(exchange);
+            delay();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.increment();
+                send(exchange, 500, error("Injected failure"));
+                return;
+            }
+            
+            // The SDK sends Admin API deletes as POST with _method=delete
+            String override = request.field("_method");
+            String method = override != null ? override.toUpperCase(Locale.ROOT) : exchange.getRequestMethod();
+            if ("resources".equals(path[3]) && path.length >= 6) {
+                String publicId = path.length == 7 ? decode(path[6]) : null;
+                if ("GET".equals(method) && publicId != null) {
+                    count("resource");
+                    lookup(exchange, publicId);
+                } else if ("DELETE".equals(method) && publicId == null) {
+                    count("delete_resources");
+                    deleteResources(exchange, request);
+                } else {
+                    send(exchange, 404, error("Unsupported Admin API call " + method + " " + exchange.getRequestURI().getPath()));
+                }
+            } else if ("POST".equals(method) && "upload".equals(path[4])) {
+                count("upload");
+                upload(exchange, request, cloudName, path[3]);
+            } else if ("POST".equals(method) && "destroy".equals(path[4])) {
+                count("destroy");
+                String publicId = request.field("public_id");
+                boolean removed = publicId != null && resources.remove(publicId) != null;
+                send(exchange, 200, Map.of("result", removed ? "ok" : "not found"));
+            } else {
+                send(exchange, 404, error("Unsupported call " + method + " " + exchange.getRequestURI().getPath()));
+            }
+        } catch (RequestTooLargeException e) {
+            send(exchange, 413, error(e.getMessage()));
+        }
+    }
+    
+    private void upload(HttpExchange exchange, Request request, String cloudName, String resourceType) throws IOException {
+        String publicId = request.field("public_id");
+        if (publicId == null) {
+            publicId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        long totalBytes = request.fileBytes;
+        
+        // uploadLarge sends "Content-Range: bytes start-end/total" with the same upload id on every chunk
+        String range = exchange.getRequestHeaders().getFirst(CONTENT_RANGE_HEADER);
+        String uploadId = exchange.getRequestHeaders().getFirst(UPLOAD_ID_HEADER);
+        if (range != null && uploadId != null) {
+            long[] parsed = parseContentRange(range);
+            if (parsed == null) {
+                send(exchange, 400, error("Invalid Content-Range " + range));
+                return;
+            }
+            long received = partialUploads.merge(uploadId, request.fileBytes, Long::sum);
+            if (parsed[1] + 1 < parsed[2]) {
+                send(exchange, 200, Map.of("done", false, "bytes", received));
+                return;
+            }
+            partialUploads.remove(uploadId);
+            totalBytes = parsed[2];
+        }
+        
+        Resource resource = new Resource(publicId, resourceType, totalBytes, Instant.now().toString());
+        resources.put(publicId, resource);
+        Map<String, Object> body = resource.toMap();
+        body.put("secure_url", baseUrl() + "/" + cloudName + "/" + resourceType + "/upload/" + publicId + ".mp4");
+        body.put("url", body.get("secure_url"));
+        send(exchange, 200, body);
+    }
+    
+    private void lookup(HttpExchange exchange, String publicId) throws IOException {
+        Resource resource = resources.get(publicId);
+        if (resource == null) {
+            send(exchange, 404, error("Resource not found - " + publicId));
+        } else {
+            send(exchange, 200, resource.toMap());
+        }
+    }
+    
+    private void deleteResources(HttpExchange exchange, Request request) throws IOException {
+        List<String> publicIds = request.fields.getOrDefault("public_ids[]",
+            request.fields.getOrDefault("public_ids", List.of()));
+        Map<String, Object> deleted = new LinkedHashMap<>();
+        for (String publicId : publicIds) {
+            deleted.put(publicId, resources.remove(publicId) != null ? "deleted" : "not_found");
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("deleted", deleted);
+        body.put("partial", false);
+        send(exchange, 200, body);
+    }
+    
+    /**
+     * Read the body at the configured bandwidth and collect its parameters: query string,
+     * url-encoded form, JSON object or multipart form. Multipart bodies are scanned as they
+     * stream in and file parts are only counted, so an upload never sits in memory; other
+     * bodies carry parameters only and are read whole, up to {@link #MAX_FIELD_BYTES}.
+     */
+    private Request readRequest(HttpExchange exchange) throws IOException {
+        Request request = new Request();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            parseUrlEncoded(query, request);
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        InputStream body = new ThrottledInputStream(exchange.getRequestBody());
+        if (type.startsWith("multipart/form-data")) {
+            String boundary = boundaryOf(contentType);
+            if (boundary != null) {
+                parseMultipart(new PartScanner(body), boundary, request);
+            }
+            body.transferTo(OutputStream.nullOutputStream());
+            return request;
+        }
+        byte[] bytes = readLimited(body);
+        if (bytes.length == 0) {
+            return request;
+        }
+        if (type.startsWith("application/json")) {
+            Map<?, ?> json = objectMapper.readValue(bytes, Map.class);
+            json.forEach((name, value) -> {
+                if (value instanceof List<?> values) {
+                    values.forEach(item -> request.add(String.valueOf(name), String.valueOf(item)));
+                } else {
+                    request.add(String.valueOf(name), String.valueOf(value));
+                }
+            });
+        } else {
+            parseUrlEncoded(new String(bytes, StandardCharsets.UTF_8), request);
+        }
+        return request;
+    }
+    
+    private static byte[] readLimited(InputStream in) throws IOException {
+        byte[] bytes = in.readNBytes(MAX_FIELD_BYTES + 1);
+        if (bytes.length > MAX_FIELD_BYTES) {
+            throw new RequestTooLargeException("Parameters larger than " + MAX_FIELD_BYTES + " bytes");
+        }
+        return bytes;
+    }
+    
+    private static void parseMultipart(PartScanner scanner, String boundary, Request request) throws IOException {
+        byte[] first = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        byte[] delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        byte[] headersEnd = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+        if (scanner.skipPast(first, null) < 0) {
+            return;
+        }
+        while (true) {
+            // After a delimiter: "--" closes the body, CRLF starts the next part
+            byte[] marker = scanner.take(2);
+            if (marker.length < 2 || (marker[0] == '-' && marker[1] == '-')) {
+                return;
+            }
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            if (scanner.skipPast(headersEnd, headerBytes) < 0) {
+                return;
+            }
+            String headers = headerBytes.toString(StandardCharsets.UTF_8);
+            String name = dispositionParameter(headers, "name");
+            if (dispositionParameter(headers, "filename") != null || "file".equals(name)) {
+                long size = scanner.skipPast(delimiter, null);
+                if (size < 0) {
+                    return;
+                }
+                request.fileBytes += size;
+            } else {
+                ByteArrayOutputStream value = new ByteArrayOutputStream();
+                if (scanner.skipPast(delimiter, value) < 0) {
+                    return;
+                }
+                if (name != null) {
+                    request.add(name, value.toString(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+    
+    private static void parseUrlEncoded(String encoded, Request request) {
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = decode(equals < 0 ? pair : pair.substring(0, equals));
+            String value = equals < 0 ? "" : decode(pair.substring(equals + 1));
+            request.add(name, value);
+        }
+    }
+    
+    private static String boundaryOf(String contentType) {
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.regionMatches(true, 0, "boundary=", 0, 9)) {
+                String boundary = trimmed.substring(9);
+                return boundary.startsWith("\"") ? boundary.substring(1, boundary.length() - 1) : boundary;
+            }
+        }
+        return null;
+    }
+    
+    private static String dispositionParameter(String headers, String parameter) {
+        for (String line : headers.split("\r\n")) {
+            if (!line.regionMatches(true, 0, "Content-Disposition:", 0, 20)) {
+                continue;
+            }
+            for (String part : line.split(";")) {
+                String trimmed = part.trim();
+                if (trimmed.startsWith(parameter + "=")) {
+                    String value = trimmed.substring(parameter.length() + 1);
+                    return value.startsWith("\"") ? value.substring(1, value.length() - 1) : value;
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static int indexOf(byte[] data, byte[] pattern, int from, int to) {
+        outer:
+        for (int i = Math.max(0, from); i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+    
+    /**
+     * "bytes start-end/total" as {start, end, total}, or null.
+     */
+    private static long[] parseContentRange(String header) {
+        try {
+            String spec = header.trim();
+            if (!spec.startsWith("bytes ")) {
+                return null;
+            }
+            int dash = spec.indexOf('-');
+            int slash = spec.indexOf('/');
+            return new long[] {
+                Long.parseLong(spec.substring(6, dash).trim()),
+                Long.parseLong(spec.substring(dash + 1, slash).trim()),
+                Long.parseLong(spec.substring(slash + 1).trim())
+            };
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+    
+    private void delay() {
+        long jitter = latencyJitterMillis;
+        long millis = latencyMillis + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        if (millis > 0) {
+            sleepNanos(millis * 1_000_000L);
+        }
+    }
+    
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000L, (int) (nanos % 1_000_000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void count(String endpoint) {
+        requests.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+    }
+    
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+    
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", Map.of("message", message));
+    }
+    
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Request body read at the configured bandwidth, counted, and cut off at the request size limit.
+     */
+    private final class ThrottledInputStream extends FilterInputStream {
+        private final long startedAt = System.nanoTime();
+        private long total;
+        
+        ThrottledInputStream(InputStream in) {
+            super(in);
+        }
+        
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read <= 0) {
+                return read;
+            }
+            total += read;
+            bytesReceived.add(read);
+            if (total > maxRequestBytes) {
+                throw new RequestTooLargeException("Request body larger than " + maxRequestBytes + " bytes");
+            }
+            long bandwidth = bandwidthBytesPerSecond;
+            if (bandwidth > 0) {
+                long dueNanos = total * 1_000_000_000L / bandwidth;
+                long aheadNanos = dueNanos - (System.nanoTime() - startedAt);
+                if (aheadNanos > 0) {
+                    sleepNanos(aheadNanos);
+                }
+            }
+            return read;
+        }
+    }
+    
+    /**
+     * Scans a stream for delimiters through one fixed buffer, so memory use does not depend on
+     * the size of the parts in between.
+     */
+    private static final class PartScanner {
+        private final InputStream in;
+        private final byte[] buffer = new byte[READ_BUFFER_BYTES];
+        private int position;
+        private int limit;
+        
+        PartScanner(InputStream in) {
+            this.in = in;
+        }
+        
+        /**
+         * Consume everything up to and including the next {@code delimiter}, copying it to
+         * {@code keep} (up to {@link #MAX_FIELD_BYTES}) unless that is null. Returns the number
+         * of bytes before the delimiter, or -1 if the stream ended first.
+         */
+        long skipPast(byte[] delimiter, ByteArrayOutputStream keep) throws IOException {
+            long skipped = 0;
+            while (true) {
+                int found = indexOf(buffer, delimiter, position, limit);
+                // Without a match, hold back a possible delimiter prefix at the end of the buffer
+                int end = found >= 0 ? found : Math.max(position, limit - delimiter.length + 1);
+                if (keep != null) {
+                    if (keep.size() + end - position > MAX_FIELD_BYTES) {
+                        throw new RequestTooLargeException("Form field larger than " + MAX_FIELD_BYTES + " bytes");
+                    }
+                    keep.write(buffer, position, end - position);
+                }
+                skipped += end - position;
+                position = end;
+                if (found >= 0) {
+                    position += delimiter.length;
+                    return skipped;
+                }
+                if (!fill()) {
+                    return -1;
+                }
+            }
+        }
+        
+        /**
+         * Consume up to {@code count} bytes; fewer only at the end of the stream.
+         */
+        byte[] take(int count) throws IOException {
+            while (limit - position < count) {
+                if (!fill()) {
+                    break;
+                }
+            }
+            int available = Math.min(count, limit - position);
+            byte[] taken = new byte[available];
+            System.arraycopy(buffer, position, taken, 0, available);
+            position += available;
+            return taken;
+        }
+        
+        private boolean fill() throws IOException {
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                return false;
+            }
+            limit += read;
+            return true;
+        }
+    }
+    
+    private static final class Request {
+        private final Map<String, List<String>> fields = new LinkedHashMap<>();
+        private long fileBytes;
+        
+        void add(String name, String value) {
+            fields.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        
+        String field(String name) {
+            List<String> values = fields.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+    }
+    
+    private record Resource(String publicId, String resourceType, long bytes, String createdAt) {
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("public_id", publicId);
+            map.put("resource_type", resourceType);
+            map.put("type", "upload");
+            map.put("format", "mp4");
+            map.put("bytes", bytes);
+            map.put("created_at", createdAt);
+            map.put("version", 1);
+            return map;
+        }
+    }
+    
+    private static final class RequestTooLargeException extends IOException {
+        RequestTooLargeException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.SkillForge.storage;
+
+import com.cloudinary.api.exceptions.AlreadyExists;
+import com.cloudinary.api.exceptions.BadRequest;
+import com.cloudinary.api.exceptions.NotAllowed;
+import com.cloudinary.api.exceptions.NotFound;
+import com.example.SkillForge.util.ThreadAllocationMeter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Guards calls to the Cloudinary API. Each call runs on the gateway's own threads with a
+ * per-operation timeout, holds one of a fixed number of bulkhead permits, and goes through a
+ * circuit breaker. A slow or failing upstream then costs a bounded number of threads and fails
+ * fast, with {@link UpstreamUnavailableException}, instead of tying up request threads.
+ * A call that times out keeps its permit until it actually returns, so hung connections
+ * count against the bulkhead. What a completed call allocated is charged to the calling thread
+ * through {@link ThreadAllocationMeter}, so per-upload allocation stats still cover the upload.
+ */
+@Component
+@ConditionalOnProperty(name = "video.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryGateway implements DisposableBean {
+    
+    public enum Operation { UPLOAD, DELETE, BULK_DELETE, LOOKUP }
+    
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMillis;
+    private final Map<Operation, Long> timeoutsMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService executor;
+    
+    private final Map<Operation, OperationStats> operationStats = new EnumMap<>(Operation.class);
+    private final LongAdder bulkheadRejected = new LongAdder();
+    
+    @Autowired
+    public CloudinaryGateway(
+            @Value("${cloudinary.gateway.max-concurrent:8}") int maxConcurrent,
+            @Value("${cloudinary.gateway.acquire-timeout-ms:2000}") long acquireTimeoutMillis,
+            @Value("${cloudinary.gateway.upload-timeout-ms:900000}") long uploadTimeoutMillis,
+            @Value("${cloudinary.gateway.delete-timeout-ms:15000}") long deleteTimeoutMillis,
+            @Value("${cloudinary.gateway.bulk-delete-timeout-ms:30000}") long bulkDeleteTimeoutMillis,
+            @Value("${cloudinary.gateway.lookup-timeout-ms:5000}") long lookupTimeoutMillis,
+            @Value("${cloudinary.gateway.breaker.window:20}") int breakerWindow,
+            @Value("${cloudinary.gateway.breaker.min-calls:10}") int breakerMinCalls,
+            @Value("${cloudinary.gateway.breaker.failure-rate-percent:50}") int breakerFailureRatePercent,
+            @Value("${cloudinary.gateway.breaker.open-ms:30000}") long breakerOpenMillis,
+            @Value("${cloudinary.gateway.breaker.half-open-probes:2}") int breakerHalfOpenProbes) {
+        this(maxConcurrent, acquireTimeoutMillis,
+            Map.of(Operation.UPLOAD, uploadTimeoutMillis,
+                Operation.DELETE, deleteTimeoutMillis,
+                Operation.BULK_DELETE, bulkDeleteTimeoutMillis,
+                Operation.LOOKUP, lookupTimeoutMillis),
+            new CircuitBreaker(breakerWindow, breakerMinCalls, breakerFailureRatePercent,
+                breakerOpenMillis, breakerHalfOpenProbes));
+    }
+    
+    CloudinaryGateway(int maxConcurrent, long acquireTimeoutMillis, Map<Operation, Long> timeoutsMillis,
+                      CircuitBreaker circuitBreaker) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.timeoutsMillis = new EnumMap<>(timeoutsMillis);
+        this.circuitBreaker = circuitBreaker;
+        AtomicInteger counter = new AtomicInteger();
+        // Never more busy threads than permits; the pool only bounds idle ones
+        this.executor = Executors.newFixedThreadPool(this.maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "cloudinary-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Operation operation : Operation.values()) {
+            operationStats.put(operation, new OperationStats());
+        }
+    }
+    
+    /**
+     * Run one Cloudinary call under the gateway's limits. Exceptions thrown by the call are
+     * rethrown as they are; refused and timed-out calls throw {@link UpstreamUnavailableException}.
+     */
+    public <T> T call(Operation operation, Callable<T> call) throws Exception {
+        OperationStats stats = operationStats.get(operation);
+        if (!circuitBreaker.tryAcquire()) {
+            stats.rejected.increment();
+            throw new UpstreamUnavailableException("Cloudinary circuit is open", circuitBreaker.retryAfterSeconds());
+        }
+        
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        if (!acquired) {
+            // Saturation is handled by the bulkhead; it says nothing about upstream health
+            circuitBreaker.release();
+            bulkheadRejected.increment();
+            stats.rejected.increment();
+            throw new UpstreamUnavailableException("Too many concurrent Cloudinary calls", 1);
+        }
+        
+        long startedAt = System.nanoTime();
+        AtomicLong allocated = new AtomicLong();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long allocatedBefore = ThreadAllocationMeter.currentThreadAllocatedBytes();
+                try {
+                    return call.call();
+                } finally {
+                    allocated.set(ThreadAllocationMeter.currentThreadAllocatedBytes() - allocatedBefore);
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            circuitBreaker.release();
+            throw new UpstreamUnavailableException("Cloudinary gateway is shut down", 1);
+        }
+        
+        long timeoutMillis = timeoutsMillis.getOrDefault(operation, acquireTimeoutMillis);
+        try {
+            T result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            ThreadAllocationMeter.addDelegated(allocated.get());
+            circuitBreaker.onSuccess();
+            stats.record(System.nanoTime() - startedAt);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.onFailure();
+            stats.timeouts.increment();
+            stats.failures.increment();
+            stats.record(System.nanoTime() - startedAt);
+            throw new UpstreamUnavailableException("Cloudinary " + operation + " timed out after " + timeoutMillis + "ms",
+                circuitBreaker.retryAfterSeconds());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            ThreadAllocationMeter.addDelegated(allocated.get());
+            Throwable cause = e.getCause();
+            if (isClientError(cause)) {
+                circuitBreaker.onSuccess(); // The upstream answered; the request was wrong
+            } else {
+                circuitBreaker.onFailure();
+                stats.failures.increment();
+            }
+            stats.record(System.nanoTime() - startedAt);
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
+        }
+    }
+    
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("inFlight", maxConcurrent - permits.availablePermits());
+        stats.put("bulkheadRejected", bulkheadRejected.sum());
+        stats.put("circuit", circuitBreaker.stats());
+        Map<String, Object> operations = new LinkedHashMap<>();
+        operationStats.forEach((operation, operationStat) -> operations.put(operation.name(), operationStat.toMap()));
+        stats.put("operations", operations);
+        return stats;
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+    
+    private static boolean isClientError(Throwable error) {
+        return error instanceof NotFound || error instanceof BadRequest
+            || error instanceof NotAllowed || error instanceof AlreadyExists;
+    }
+    
+    private static class OperationStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        
+        void record(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+        
+        Map<String, Object> toMap() {
+            long count = calls.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("calls", count);
+            map.put("failures", failures.sum());
+            map.put("timeouts", timeouts.sum());
+            map.put("rejected", rejected.sum());
+            map.put("avgMillis", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+            map.put("maxMillis", maxNanos.get() / 1_000_000.0);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.SkillForge.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.api.ApiResponse;
+import com.cloudinary.api.exceptions.NotFound;
+import com.cloudinary.utils.ObjectUtils;
+import com.example.SkillForge.storage.CloudinaryGateway.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores videos as Cloudinary video resources; the key is the Cloudinary public_id.
+ * Uploads are chunked, so heap use does not grow with the file size. Every API call goes
+ * through the {@link CloudinaryGateway} (timeouts, bulkhead, circuit breaker).
+ */
+@Component
+@ConditionalOnProperty(name = "video.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CloudinaryVideoStorage implements VideoStorage {
+    
+    private final Cloudinary cloudinary;
+    private final CloudinaryGateway gateway;
+    
+    @Value("${cloudinary.upload.chunk-bytes:6291456}")
+    private int uploadChunkBytes; // Cloudinary accepts chunks of 5MB and up
+    
+    private static final int MAX_BULK_DELETE = 100; // Per Admin API call
+    
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    
+    @Override
+    public String name() {
+        return "cloudinary";
+    }
+    
+    @Override
+    public StoredVideo store(String key, Path file) throws IOException {
+        // Storing under the same public_id again overwrites a partial earlier attempt
+        @SuppressWarnings("unchecked")
+        Map<String, Object> uploadParams = ObjectUtils.asMap(
+            "public_id", key,
+            "resource_type", "video",
+            "overwrite", true,
+            "quality", "auto:good",
+            "format", "mp4"
+        );
+        
+        @SuppressWarnings("unchecked")
+        Map<String, Object> uploadResult = call(Operation.UPLOAD,
+            () -> cloudinary.uploader().uploadLarge(file.toFile(), uploadParams, uploadChunkBytes));
+        
+        Integer duration = null;
+        if (uploadResult.get("duration") != null) {
+            duration = ((Number) uploadResult.get("duration")).intValue();
+        }
+        long size = uploadResult.get("bytes") != null ? ((Number) uploadResult.get("bytes")).longValue() : file.toFile().length();
+        
+        stored.increment();
+        storedBytes.add(size);
+        return new StoredVideo(key, (String) uploadResult.get("secure_url"), size, duration);
+    }
+    
+    @Override
+    public InputStream openRange(String key, long offset, long length) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(playbackUrl(key)).toURL().openConnection();
+        connection.setRequestProperty("Range", "bytes=" + offset + "-" + (offset + length - 1));
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_PARTIAL) {
+            connection.disconnect();
+            throw new IOException("Range request for " + key + " returned HTTP " + status);
+        }
+        return connection.getInputStream();
+    }
+    
+    @Override
+    public boolean delete(String key) throws IOException {
+        Map<?, ?> result = call(Operation.DELETE,
+            () -> cloudinary.uploader().destroy(key, ObjectUtils.asMap("resource_type", "video", "invalidate", true)));
+        boolean removed = "ok".equals(result.get("result"));
+        if (removed) {
+            deleted.increment();
+        }
+        return removed;
+    }
+    
+    /**
+     * Bulk delete through the Admin API, up to 100 public_ids per call.
+     */
+    @Override
+    public Set<String> deleteAll(Collection<String> keys) throws IOException {
+        Set<String> gone = new LinkedHashSet<>();
+        List<String> all = new ArrayList<>(keys);
+        for (int from = 0; from < all.size(); from += MAX_BULK_DELETE) {
+            List<String> batch = all.subList(from, Math.min(all.size(), from + MAX_BULK_DELETE));
+            ApiResponse response = call(Operation.BULK_DELETE,
+                () -> cloudinary.api().deleteResources(batch, ObjectUtils.asMap("resource_type", "video", "invalidate", true)));
+            Object results = response.get("deleted");
+            if (results instanceof Map<?, ?> deletedKeys) {
+                deletedKeys.forEach((key, result) -> {
+                    if ("deleted".equals(result) || "not_found".equals(result)) {
+                        gone.add(String.valueOf(key));
+                    }
+                });
+            }
+        }
+        deleted.add(gone.size());
+        return gone;
+    }
+    
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            gateway.call(Operation.LOOKUP, () -> cloudinary.api().resource(key, ObjectUtils.asMap("resource_type", "video")));
+            return true;
+        } catch (NotFound e) {
+            return false;
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Cloudinary lookup of " + key + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public String playbackUrl(String key) {
+        return cloudinary.url().resourceType("video").secure(true).format("mp4").generate(key);
+    }
+    
+    @Override
+    public String thumbnailUrl(String key) {
+        // Cloudinary auto-generates video thumbnails with simple URL manipulation
+        return String.format("https://res.cloudinary.com/%s/video/upload/c_thumb,g_center,h_300,w_400/%s.jpg",
+                cloudinary.config.cloudName, key);
+    }
+    
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", name());
+        stats.put("chunkBytes", uploadChunkBytes);
+        stats.put("stored", stored.sum());
+        stats.put("storedBytes", storedBytes.sum());
+        stats.put("deleted", deleted.sum());
+        stats.put("gateway", gateway.stats());
+        return stats;
+    }
+    
+    private <T> T call(Operation operation, Callable<T> call) throws IOException {
+        try {
+            return gateway.call(operation, call);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during Cloudinary " + operation, e);
+        } catch (Exception e) {
+            throw new IOException("Cloudinary " + operation + " failed: " + e.getMessage(), e);
+        }
+    }
+}
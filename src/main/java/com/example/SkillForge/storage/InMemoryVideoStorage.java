@@ -0,0 +1,114 @@
+package com.example.SkillForge.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps videos in the heap. Meant for tests and for benchmarking the upload path without any
+ * I/O behind it; total size is capped by {@code video.storage.memory.max-bytes}.
+ */
+@Component
+@ConditionalOnProperty(name = "video.storage.type", havingValue = "memory")
+public class InMemoryVideoStorage implements VideoStorage {
+    
+    private final long maxBytes;
+    private final ConcurrentHashMap<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    
+    public InMemoryVideoStorage(@Value("${video.storage.memory.max-bytes:268435456}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+    
+    @Override
+    public String name() {
+        return "memory";
+    }
+    
+    @Override
+    public StoredVideo store(String key, Path file) throws IOException {
+        long size = Files.size(file);
+        if (usedBytes.addAndGet(size) > maxBytes) {
+            usedBytes.addAndGet(-size);
+            throw new IOException("In-memory video storage is full (" + maxBytes + " bytes)");
+        }
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException | RuntimeException e) {
+            usedBytes.addAndGet(-size);
+            throw e;
+        }
+        usedBytes.addAndGet(content.length - size);
+        byte[] previous = objects.put(key, content);
+        if (previous != null) {
+            usedBytes.addAndGet(-previous.length);
+        }
+        stored.increment();
+        return new StoredVideo(key, null, content.length, null);
+    }
+    
+    @Override
+    public InputStream openRange(String key, long offset, long length) throws IOException {
+        byte[] content = objects.get(key);
+        if (content == null) {
+            throw new IOException("No stored video " + key);
+        }
+        if (offset < 0 || offset > content.length) {
+            throw new IOException("Offset " + offset + " is outside of " + key);
+        }
+        return new ByteArrayInputStream(content, (int) offset, (int) Math.min(length, content.length - offset));
+    }
+    
+    @Override
+    public boolean delete(String key) {
+        byte[] removed = objects.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        usedBytes.addAndGet(-removed.length);
+        deleted.increment();
+        return true;
+    }
+    
+    @Override
+    public boolean exists(String key) {
+        return objects.containsKey(key);
+    }
+    
+    @Override
+    public String playbackUrl(String key) {
+        return null;
+    }
+    
+    @Override
+    public String thumbnailUrl(String key) {
+        return null;
+    }
+    
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", name());
+        stats.put("objects", objects.size());
+        stats.put("usedBytes", usedBytes.get());
+        stats.put("maxBytes", maxBytes);
+        stats.put("stored", stored.sum());
+        stats.put("deleted", deleted.sum());
+        return stats;
+    }
+}
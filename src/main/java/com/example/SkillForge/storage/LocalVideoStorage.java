@@ -0,0 +1,129 @@
+package com.example.SkillForge.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores videos as files under {@code video.storage.local.dir}, one file per key. Files are
+ * served by the application itself, so there is no remote round trip on upload or playback.
+ */
+@Component
+@ConditionalOnProperty(name = "video.storage.type", havingValue = "local")
+public class LocalVideoStorage implements VideoStorage {
+    
+    private static final String SUFFIX = ".mp4";
+    
+    private final Path root;
+    
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    
+    public LocalVideoStorage(@Value("${video.storage.local.dir:${user.home}/skillforge-videos}") String directory) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+    }
+    
+    @Override
+    public String name() {
+        return "local";
+    }
+    
+    @Override
+    public StoredVideo store(String key, Path file) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        
+        // Write next to the target and rename, so readers never see a half-written file
+        Path partial = Files.createTempFile(target.getParent(), ".store-", ".part");
+        try {
+            try {
+                Files.delete(partial);
+                Files.createLink(partial, file); // Same file system: no copy at all
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(file, partial, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        
+        long size = Files.size(target);
+        stored.increment();
+        storedBytes.add(size);
+        return new StoredVideo(key, null, size, null);
+    }
+    
+    @Override
+    public InputStream openRange(String key, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+            return new BoundedInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    @Override
+    public boolean delete(String key) throws IOException {
+        boolean removed = Files.deleteIfExists(resolve(key));
+        if (removed) {
+            deleted.increment();
+        }
+        return removed;
+    }
+    
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+    
+    @Override
+    public String playbackUrl(String key) {
+        return null;
+    }
+    
+    @Override
+    public String thumbnailUrl(String key) {
+        return null;
+    }
+    
+    @Override
+    public Path localPath(String key) {
+        return resolve(key);
+    }
+    
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", name());
+        stats.put("directory", root.toString());
+        stats.put("stored", stored.sum());
+        stats.put("storedBytes", storedBytes.sum());
+        stats.put("deleted", deleted.sum());
+        return stats;
+    }
+    
+    private Path resolve(String key) {
+        Path path = root.resolve(key + SUFFIX).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
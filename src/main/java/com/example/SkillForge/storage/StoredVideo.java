@@ -0,0 +1,16 @@
+package com.example.SkillForge.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredVideo {
+    
+    private String key;
+    private String playbackUrl; // null when the backend does not serve the file itself
+    private long sizeBytes;
+    private Integer durationSeconds; // null when the backend does not report it
+}
@@ -0,0 +1,21 @@
+package com.example.SkillForge.storage;
+
+import java.io.IOException;
+
+/**
+ * A storage call was not made, or was abandoned, because the upstream service is unhealthy or
+ * saturated: the circuit is open, the bulkhead is full, or the call timed out.
+ */
+public class UpstreamUnavailableException extends IOException {
+    
+    private final long retryAfterSeconds;
+    
+    public UpstreamUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.SkillForge.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Where uploaded video files end up. The active backend is picked with
+ * {@code video.storage.type} (cloudinary, local or memory); services only talk to this
+ * interface, so the upload path can run on-prem or fully offline.
+ */
+public interface VideoStorage {
+    
+    /**
+     * Backend name, as used in {@code video.storage.type}.
+     */
+    String name();
+    
+    /**
+     * Store the content of {@code file} under {@code key}, replacing anything stored there.
+     * The file is left in place; it still belongs to the caller.
+     */
+    StoredVideo store(String key, Path file) throws IOException;
+    
+    /**
+     * Open {@code length} bytes of the stored object starting at {@code offset}.
+     */
+    InputStream openRange(String key, long offset, long length) throws IOException;
+    
+    /**
+     * Remove the stored object. Returns false if there was nothing to remove.
+     */
+    boolean delete(String key) throws IOException;
+    
+    /**
+     * Remove several objects. Returns the keys that are now gone (removed, or already absent);
+     * the others should be retried. Backends with a bulk API override this.
+     */
+    default Set<String> deleteAll(Collection<String> keys) throws IOException {
+        Set<String> gone = new LinkedHashSet<>();
+        for (String key : keys) {
+            try {
+                delete(key);
+                gone.add(key);
+            } catch (IOException | RuntimeException e) {
+                // Left out of the result, so the caller retries it
+            }
+        }
+        return gone;
+    }
+    
+    boolean exists(String key) throws IOException;
+    
+    /**
+     * URL the object can be played from directly, or null if it has to be served by this application.
+     */
+    String playbackUrl(String key);
+    
+    /**
+     * Thumbnail image URL, or null if the backend cannot produce one.
+     */
+    String thumbnailUrl(String key);
+    
+    /**
+     * The object's file when it sits on the local disk (so it can be sent without copying), otherwise null.
+     */
+    default Path localPath(String key) {
+        return null;
+    }
+    
+    Map<String, Object> stats();
+}
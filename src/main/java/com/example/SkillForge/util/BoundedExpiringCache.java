@@ -0,0 +1,133 @@
+package com.example.SkillForge.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Small concurrent cache with a hard-ish size bound and per-entry expiry.
+ * Lookups are lock-free; when the bound is reached one writer sweeps expired
+ * entries (and, if that is not enough, arbitrary ones) while the others carry on.
+ */
+public class BoundedExpiringCache<K, V> {
+    
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final int maxEntries;
+    private final long ttlMillis;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * @param maxEntries upper bound on cached entries
+     * @param ttlMillis default time to live, or 0 for entries that only expire when put with an explicit deadline
+     */
+    public BoundedExpiringCache(int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+    
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+    
+    /**
+     * Returns the cached value or loads it. A null result from the loader is not cached.
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+    
+    public void put(K key, V value) {
+        put(key, value, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE);
+    }
+    
+    public void put(K key, V value, long expiresAtMillis) {
+        if (entries.size() >= maxEntries) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+    
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+    
+    public void clear() {
+        entries.clear();
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+    
+    private void makeRoom() {
+        if (!sweepLock.tryLock()) {
+            return; // another writer is already sweeping
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.forEach((key, entry) -> {
+                if (entry.isExpired(now) && entries.remove(key, entry)) {
+                    evictions.increment();
+                }
+            });
+            // Still full of live entries: drop roughly a tenth so we do not sweep on every put
+            int target = maxEntries - Math.max(1, maxEntries / 10);
+            Iterator<K> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+    
+    private record Entry<V>(V value, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.SkillForge.util;
+
+/**
+ * A single satisfiable byte range of a resource, parsed from an HTTP {@code Range} header.
+ * Only one range per request is served; multi-range requests get the whole resource.
+ */
+public final class ByteRange {
+    
+    private final long start;
+    private final long end; // inclusive
+    
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+    
+    /**
+     * Parse {@code header} against a resource of {@code size} bytes. Returns null when the
+     * whole resource should be sent (no header, unsupported unit, several ranges, bad syntax).
+     *
+     * @throws IllegalArgumentException if the range is well-formed but cannot be satisfied (416)
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (spec.indexOf(',') >= 0 || dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    throw new IllegalArgumentException("Unsatisfiable range " + header);
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null; // Reversed ranges are invalid, so the header is ignored
+            }
+            if (start >= size) {
+                throw new IllegalArgumentException("Unsatisfiable range " + header);
+            }
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    public long getStart() {
+        return start;
+    }
+    
+    public long getEnd() {
+        return end;
+    }
+    
+    public long length() {
+        return end - start + 1;
+    }
+    
+    public String contentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+}
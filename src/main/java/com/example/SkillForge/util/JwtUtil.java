@@ -3,6 +3,7 @@ package com.example.SkillForge.util;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -22,6 +23,27 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+    
+    // Built once: decoding the secret and building the parser is not free
+    private SecretKey signKey;
+    private JwtParser parser;
+    
+    // Already-verified tokens keyed by the token itself (a hash would cost about as much as the
+    // verification it saves), each entry expires with its token
+    private BoundedExpiringCache<String, Claims> verifiedClaims;
+    
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
+        signKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+        verifiedClaims = new BoundedExpiringCache<>(claimsCacheMaxEntries, 0);
+    }
+    
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -29,23 +51,37 @@ public class JwtUtil {
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
-
+    
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = extractVerifiedClaims(token);
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Repeat calls with the same token are answered from the cache until the token expires.
+     */
+    public Claims extractVerifiedClaims(String token) {
+        Claims cached = verifiedClaims.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date exp = claims.getExpiration();
+        if (exp != null) {
+            verifiedClaims.put(token, claims, exp.getTime());
+        }
+        return claims;
     }
     
-    private Boolean isTokenExpired(String token)
+    public Map<String, Object> getClaimsCacheStats() {
+        return verifiedClaims.stats();
+    }
+    
+    private Boolean isTokenExpired(Claims claims)
     {
-        return extractExpiration(token).before(new Date());
+        return claims.getExpiration().before(new Date());
     }
     
     public String generateToken(UserDetails userDetails) {
@@ -63,17 +99,16 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(extractVerifiedClaims(token), userDetails);
     }
     
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 }
\ No newline at end of file
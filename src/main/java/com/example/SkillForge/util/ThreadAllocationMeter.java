@@ -0,0 +1,51 @@
+package com.example.SkillForge.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Bytes allocated on the heap by the current thread, when the JVM can report it
+ * (HotSpot's com.sun.management extension). Used to measure per-request allocation.
+ * Work handed to another thread and waited for can be charged back to the waiting
+ * thread with {@link #addDelegated(long)}.
+ */
+public final class ThreadAllocationMeter {
+    
+    private static final com.sun.management.ThreadMXBean THREADS = resolve();
+    
+    private static final ThreadLocal<long[]> DELEGATED = ThreadLocal.withInitial(() -> new long[1]);
+    
+    private ThreadAllocationMeter() {
+    }
+    
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+    
+    /**
+     * Allocated bytes of the current thread so far, including delegated work, or -1 if not supported.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() + DELEGATED.get()[0] : -1;
+    }
+    
+    /**
+     * Charge {@code bytes} allocated by another thread, on the current thread's behalf, to the current thread.
+     */
+    public static void addDelegated(long bytes) {
+        if (THREADS != null && bytes > 0) {
+            DELEGATED.get()[0] += bytes;
+        }
+    }
+    
+    private static com.sun.management.ThreadMXBean resolve() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return sunBean;
+        }
+        return null;
+    }
+}
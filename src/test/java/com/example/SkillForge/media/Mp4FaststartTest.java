@@ -0,0 +1,126 @@
+package com.example.SkillForge.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.example.SkillForge.media.Mp4ProbeTest.box;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Mp4FaststartTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void movesMoovInFrontOfMdatAndShiftsChunkOffsets() throws IOException {
+		byte[] ftyp = box("ftyp", "isom".getBytes(StandardCharsets.US_ASCII));
+		byte[] media = "first-chunk|second-chunk".getBytes(StandardCharsets.US_ASCII);
+		byte[] mdat = box("mdat", media);
+		long firstChunk = ftyp.length + 8;
+		long secondChunk = firstChunk + "first-chunk|".length();
+		byte[] moov = box("moov", box("mvhd", new byte[100]),
+				box("trak", box("mdia", box("minf", box("stbl", stco(firstChunk, secondChunk))))),
+				box("trak", box("mdia", box("minf", box("stbl", co64(secondChunk))))));
+		Path source = write(ftyp, mdat, moov);
+		Path target = dir.resolve("faststart.mp4");
+
+		assertTrue(Mp4Faststart.rewrite(source, target, 1 << 20));
+
+		byte[] rewritten = Files.readAllBytes(target);
+		assertEquals(Files.size(source), rewritten.length);
+		ByteBuffer buffer = ByteBuffer.wrap(rewritten);
+		assertEquals("moov", new String(rewritten, ftyp.length + 4, 4, StandardCharsets.US_ASCII));
+		assertEquals("mdat", new String(rewritten, ftyp.length + moov.length + 4, 4, StandardCharsets.US_ASCII));
+
+		int stcoEntries = indexOf(rewritten, "stco") + 12;
+		assertEquals("first-chunk", new String(rewritten, buffer.getInt(stcoEntries), 11, StandardCharsets.US_ASCII));
+		assertEquals("second-chunk", new String(rewritten, buffer.getInt(stcoEntries + 4), 12, StandardCharsets.US_ASCII));
+		int co64Entries = indexOf(rewritten, "co64") + 12;
+		assertEquals("second-chunk", new String(rewritten, (int) buffer.getLong(co64Entries), 12, StandardCharsets.US_ASCII));
+
+		Mp4Metadata metadata = Mp4Probe.probe(target);
+		assertNotNull(metadata);
+		assertTrue(metadata.isMoovBeforeMdat());
+	}
+
+	@Test
+	void leavesMediaAfterMoovWhereItWas() throws IOException {
+		byte[] ftyp = box("ftyp", "isom".getBytes(StandardCharsets.US_ASCII));
+		byte[] before = box("mdat", "before-moov".getBytes(StandardCharsets.US_ASCII));
+		byte[] after = box("mdat", "after-moov".getBytes(StandardCharsets.US_ASCII));
+		long beforeChunk = ftyp.length + 8;
+		byte[] placeholder = box("moov", box("trak", box("mdia", box("minf", box("stbl", stco(0, 0), co64(0, 0))))));
+		long afterChunk = ftyp.length + before.length + placeholder.length + 8;
+		byte[] moov = box("moov", box("trak", box("mdia", box("minf",
+				box("stbl", stco(beforeChunk, afterChunk), co64(beforeChunk, afterChunk))))));
+		Path source = write(ftyp, before, moov, after);
+		Path target = dir.resolve("faststart.mp4");
+
+		assertTrue(Mp4Faststart.rewrite(source, target, 1 << 20));
+
+		byte[] rewritten = Files.readAllBytes(target);
+		ByteBuffer buffer = ByteBuffer.wrap(rewritten);
+		int stcoEntries = indexOf(rewritten, "stco") + 12;
+		assertEquals("before-moov", new String(rewritten, buffer.getInt(stcoEntries), 11, StandardCharsets.US_ASCII));
+		assertEquals("after-moov", new String(rewritten, buffer.getInt(stcoEntries + 4), 10, StandardCharsets.US_ASCII));
+		int co64Entries = indexOf(rewritten, "co64") + 12;
+		assertEquals("before-moov", new String(rewritten, (int) buffer.getLong(co64Entries), 11, StandardCharsets.US_ASCII));
+		assertEquals("after-moov", new String(rewritten, (int) buffer.getLong(co64Entries + 8), 10, StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	void leavesFaststartAndForeignFilesAlone() throws IOException {
+		Path target = dir.resolve("out.mp4");
+		Path faststart = write(box("ftyp", new byte[8]), box("moov", box("mvhd", new byte[100])), box("mdat", new byte[32]));
+		Path text = write("just some text".getBytes(StandardCharsets.US_ASCII));
+
+		assertFalse(Mp4Faststart.rewrite(faststart, target, 1 << 20));
+		assertFalse(Mp4Faststart.rewrite(text, target, 1 << 20));
+		assertFalse(Files.exists(target));
+	}
+
+	private Path write(byte[]... parts) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (byte[] part : parts) {
+			out.write(part);
+		}
+		return Files.write(Files.createTempFile(dir, "source", ".mp4"), out.toByteArray());
+	}
+
+	private static byte[] stco(long... offsets) {
+		ByteBuffer payload = ByteBuffer.allocate(8 + offsets.length * 4).putInt(0).putInt(offsets.length);
+		for (long offset : offsets) {
+			payload.putInt((int) offset);
+		}
+		return box("stco", payload.array());
+	}
+
+	private static byte[] co64(long... offsets) {
+		ByteBuffer payload = ByteBuffer.allocate(8 + offsets.length * 8).putInt(0).putInt(offsets.length);
+		for (long offset : offsets) {
+			payload.putLong(offset);
+		}
+		return box("co64", payload.array());
+	}
+
+	private static int indexOf(byte[] data, String type) {
+		byte[] needle = type.getBytes(StandardCharsets.US_ASCII);
+		outer:
+		for (int i = 0; i <= data.length - needle.length; i++) {
+			for (int j = 0; j < needle.length; j++) {
+				if (data[i + j] != needle[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.SkillForge.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Mp4ProbeTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void readsDurationResolutionAndBitrate() throws IOException {
+		byte[] moov = box("moov", mvhdV0(1000, 90_500),
+				box("trak", tkhdV0(0, 0), box("mdia", hdlr("soun"))),
+				box("trak", tkhdV0(1280, 720), box("mdia", hdlr("vide"))));
+		Path file = write(box("ftyp", "isom".getBytes(StandardCharsets.US_ASCII)), moov, box("mdat", new byte[4096]));
+
+		Mp4Metadata metadata = Mp4Probe.probe(file);
+
+		assertNotNull(metadata);
+		assertEquals(90_500, metadata.getDurationMillis());
+		assertEquals(91, metadata.durationSeconds());
+		assertEquals(1280, metadata.getWidth());
+		assertEquals(720, metadata.getHeight());
+		assertEquals("720p", metadata.qualityLabel());
+		assertEquals((int) (Files.size(file) * 8 / 90_500), metadata.getBitrateKbps());
+		assertTrue(metadata.isMoovBeforeMdat());
+	}
+
+	@Test
+	void findsMoovAfterMdatAndReadsVersion1Headers() throws IOException {
+		byte[] moov = box("moov", mvhdV1(600, 600L * 3600), box("trak", tkhdV1(1080, 1920)));
+		Path file = write(box("ftyp", new byte[8]), box("mdat", new byte[1024]), moov);
+
+		Mp4Metadata metadata = Mp4Probe.probe(file);
+
+		assertNotNull(metadata);
+		assertEquals(3_600_000, metadata.getDurationMillis());
+		assertEquals("1080p", metadata.qualityLabel());
+		assertFalse(metadata.isMoovBeforeMdat());
+	}
+
+	@Test
+	void returnsNullForOtherFiles() throws IOException {
+		assertNull(Mp4Probe.probe(write("not a video at all".getBytes(StandardCharsets.US_ASCII))));
+		assertNull(Mp4Probe.probe(write(box("ftyp", new byte[8]), box("mdat", new byte[16]))));
+	}
+
+	private Path write(byte[]... parts) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (byte[] part : parts) {
+			out.write(part);
+		}
+		return Files.write(Files.createTempFile(dir, "probe", ".mp4"), out.toByteArray());
+	}
+
+	static byte[] box(String type, byte[]... children) {
+		int size = 8;
+		for (byte[] child : children) {
+			size += child.length;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(size).putInt(size).put(type.getBytes(StandardCharsets.US_ASCII));
+		for (byte[] child : children) {
+			buffer.put(child);
+		}
+		return buffer.array();
+	}
+
+	private static byte[] mvhdV0(int timescale, int duration) {
+		return box("mvhd", ByteBuffer.allocate(100).putInt(0).putInt(0).putInt(0).putInt(timescale).putInt(duration).array());
+	}
+
+	private static byte[] mvhdV1(int timescale, long duration) {
+		return box("mvhd", ByteBuffer.allocate(112).putInt(1 << 24).putLong(0).putLong(0).putInt(timescale).putLong(duration).array());
+	}
+
+	private static byte[] tkhdV0(int width, int height) {
+		return box("tkhd", ByteBuffer.allocate(84).putInt(76, width << 16).putInt(80, height << 16).array());
+	}
+
+	private static byte[] tkhdV1(int width, int height) {
+		return box("tkhd", ByteBuffer.allocate(96).putInt(0, 1 << 24).putInt(88, width << 16).putInt(92, height << 16).array());
+	}
+
+	private static byte[] hdlr(String handler) {
+		return box("hdlr", ByteBuffer.allocate(24).putInt(8, Mp4Probe.fourCc(handler)).array());
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.SkillForge.service;
+
+import com.example.SkillForge.dto.CourseSummary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+	@Test
+	void pagesNewestFirstAndContinuesAfterTheKeyset() {
+		CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+				card(1, T0), card(2, T0.plusDays(1)), card(3, T0.plusDays(1)), card(4, T0.plusDays(2))));
+
+		assertEquals(List.of(4L, 3L), ids(snapshot.page(null, null, 2)));
+		assertEquals(List.of(2L, 1L), ids(snapshot.page(T0.plusDays(1), 3L, 5)));
+		assertEquals(List.of(), ids(snapshot.page(T0, 1L, 5)));
+	}
+
+	@Test
+	void writesReturnNewSnapshotsAndLeaveTheOldOneIntact() {
+		CatalogSnapshot original = CatalogSnapshot.of(List.of(card(1, T0), card(2, T0.plusDays(1))));
+
+		CatalogSnapshot added = original.with(card(3, T0.plusHours(1)));
+		CatalogSnapshot replaced = added.with(new CourseSummary(1L, "Renamed", null, BigDecimal.TEN, null,
+				T0, 9L, "Ada", "Lovelace", 4L, 600L));
+		CatalogSnapshot removed = replaced.without(2L);
+
+		assertEquals(List.of(2L, 1L), ids(original.page(null, null, 10)));
+		assertEquals(List.of(2L, 3L, 1L), ids(added.page(null, null, 10)));
+		assertEquals("Renamed", replaced.page(null, null, 10).get(2).getTitle());
+		assertEquals(3, replaced.size());
+		assertEquals(List.of(3L, 1L), ids(removed.page(null, null, 10)));
+		assertSame(removed, removed.without(42L));
+		assertThrows(UnsupportedOperationException.class, () -> removed.page(null, null, 10).clear());
+	}
+
+	@Test
+	void cursorRoundTripsAndRejectsGarbage() {
+		CourseCatalogService.Keyset keyset = CourseCatalogService.decodeCursor(CourseCatalogService.encodeCursor(T0, 7L));
+
+		assertEquals(T0, keyset.createdAt());
+		assertEquals(7L, keyset.id());
+		assertThrows(IllegalArgumentException.class, () -> CourseCatalogService.decodeCursor("not-a-cursor"));
+	}
+
+	private static CourseSummary card(long id, LocalDateTime createdAt) {
+		return new CourseSummary(id, "Course " + id, null, BigDecimal.ONE, null, createdAt, 9L, "Ada", "Lovelace", 1L, 60L);
+	}
+
+	private static List<Long> ids(List<CourseSummary> courses) {
+		return courses.stream().map(CourseSummary::getId).toList();
+	}
+}
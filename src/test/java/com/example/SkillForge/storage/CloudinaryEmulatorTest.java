@@ -0,0 +1,104 @@
+package com.example.SkillForge.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.example.SkillForge.storage.CloudinaryGateway.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CloudinaryEmulatorTest {
+
+	@TempDir
+	Path dir;
+
+	private final CloudinaryEmulator emulator = new CloudinaryEmulator(4, 1 << 20);
+	private Cloudinary cloudinary;
+	private CloudinaryGateway gateway;
+	private CloudinaryVideoStorage storage;
+
+	@BeforeEach
+	void start() throws IOException {
+		String prefix = emulator.start("127.0.0.1", 0);
+		cloudinary = new Cloudinary(ObjectUtils.asMap(
+				"cloud_name", "test", "api_key", "key", "api_secret", "secret",
+				"secure", true, "upload_prefix", prefix));
+		gateway = new CloudinaryGateway(4, 1000, Map.of(
+				Operation.UPLOAD, 5_000L, Operation.DELETE, 5_000L,
+				Operation.BULK_DELETE, 5_000L, Operation.LOOKUP, 5_000L),
+				new CircuitBreaker(10, 10, 50, 1000, 1));
+		storage = new CloudinaryVideoStorage(cloudinary, gateway);
+		ReflectionTestUtils.setField(storage, "uploadChunkBytes", 1000);
+	}
+
+	@AfterEach
+	void stop() {
+		gateway.destroy();
+		emulator.stop();
+	}
+
+	@Test
+	void storesInChunksLooksUpAndDeletes() throws IOException {
+		Path file = dir.resolve("video.mp4");
+		Files.write(file, new byte[2500]);
+
+		StoredVideo stored = storage.store("videos/one", file);
+
+		assertEquals("videos/one", stored.getKey());
+		assertEquals(2500, stored.getSizeBytes());
+		assertEquals(3L, ((Map<?, ?>) emulator.stats().get("requests")).get("upload"));
+		assertTrue(storage.exists("videos/one"));
+		assertTrue(storage.delete("videos/one"));
+		assertFalse(storage.exists("videos/one"));
+		assertFalse(storage.delete("videos/one"));
+	}
+
+	@Test
+	void countsFilePartsLargerThanItsReadBuffer() throws Exception {
+		byte[] content = new byte[200_000];
+		new Random(42).nextBytes(content);
+		Path file = Files.write(dir.resolve("video.mp4"), content);
+
+		Map<?, ?> result = cloudinary.uploader().upload(file.toFile(),
+				ObjectUtils.asMap("resource_type", "video", "public_id", "single"));
+
+		assertEquals(200_000L, ((Number) result.get("bytes")).longValue());
+		assertTrue(emulator.hasResource("single"));
+	}
+
+	@Test
+	void bulkDeleteReportsDeletedAndMissingKeysAsGone() throws IOException {
+		Path file = dir.resolve("video.mp4");
+		Files.write(file, new byte[100]);
+		storage.store("a", file);
+		storage.store("b", file);
+
+		Set<String> gone = storage.deleteAll(List.of("a", "b", "never-stored"));
+
+		assertEquals(Set.of("a", "b", "never-stored"), gone);
+		assertFalse(emulator.hasResource("a"));
+	}
+
+	@Test
+	void injectedErrorsSurfaceAsFailures() throws IOException {
+		Path file = dir.resolve("video.mp4");
+		Files.write(file, new byte[100]);
+		emulator.setErrorRate(1.0);
+
+		assertThrows(Exception.class, () -> storage.store("c", file));
+		assertThrows(IOException.class, () -> storage.deleteAll(List.of("c")));
+		assertEquals(2L, emulator.stats().get("injectedErrors"));
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.SkillForge.storage;
+
+import com.cloudinary.api.exceptions.NotFound;
+import com.example.SkillForge.storage.CloudinaryGateway.Operation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CloudinaryGatewayTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final CircuitBreaker breaker = new CircuitBreaker(4, 4, 50, 1000, 1, now::get);
+	private CloudinaryGateway gateway;
+
+	@AfterEach
+	void shutDown() {
+		if (gateway != null) {
+			gateway.destroy();
+		}
+	}
+
+	@Test
+	void slowCallTimesOutAndCountsAsFailure() {
+		gateway = gateway(2, 100);
+
+		long startedAt = System.nanoTime();
+		assertThrows(UpstreamUnavailableException.class,
+				() -> gateway.call(Operation.DELETE, () -> sleep(5_000)));
+
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 2_000);
+		assertEquals(1, breaker.stats().get("windowFailures"));
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondTheLimit() throws Exception {
+		gateway = gateway(1, 5_000);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = new Thread(() -> {
+			try {
+				gateway.call(Operation.UPLOAD, () -> {
+					started.countDown();
+					return release.await(5, TimeUnit.SECONDS);
+				});
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		holder.start();
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		assertThrows(UpstreamUnavailableException.class, () -> gateway.call(Operation.LOOKUP, () -> "too many"));
+
+		release.countDown();
+		holder.join(5_000);
+		assertEquals("ok", gateway.call(Operation.LOOKUP, () -> "ok"));
+		assertEquals(0, breaker.stats().get("windowFailures"));
+	}
+
+	@Test
+	void circuitOpensOnFailuresAndClosesAfterSuccessfulProbe() throws Exception {
+		gateway = gateway(2, 5_000);
+		for (int i = 0; i < 2; i++) {
+			assertEquals("ok", gateway.call(Operation.DELETE, () -> "ok"));
+			assertThrows(IOException.class, () -> gateway.call(Operation.DELETE, () -> {
+				throw new IOException("HTTP 502");
+			}));
+		}
+		assertEquals(CircuitBreaker.State.OPEN, gateway.circuitState());
+
+		assertThrows(UpstreamUnavailableException.class, () -> gateway.call(Operation.DELETE, () -> "short-circuited"));
+
+		now.addAndGet(1000);
+		assertEquals("probe", gateway.call(Operation.DELETE, () -> "probe"));
+		assertEquals(CircuitBreaker.State.CLOSED, gateway.circuitState());
+	}
+
+	@Test
+	void failedProbeReopensAndClientErrorsDoNotTrip() throws Exception {
+		gateway = gateway(2, 5_000);
+		for (int i = 0; i < 4; i++) {
+			assertThrows(NotFound.class, () -> gateway.call(Operation.LOOKUP, () -> {
+				throw new NotFound("missing");
+			}));
+		}
+		assertEquals(CircuitBreaker.State.CLOSED, gateway.circuitState());
+
+		for (int i = 0; i < 4; i++) {
+			assertThrows(IOException.class, () -> gateway.call(Operation.LOOKUP, () -> {
+				throw new IOException("HTTP 503");
+			}));
+		}
+		assertEquals(CircuitBreaker.State.OPEN, gateway.circuitState());
+
+		now.addAndGet(1000);
+		assertThrows(IOException.class, () -> gateway.call(Operation.LOOKUP, () -> {
+			throw new IOException("still down");
+		}));
+		assertEquals(CircuitBreaker.State.OPEN, gateway.circuitState());
+	}
+
+	private CloudinaryGateway gateway(int maxConcurrent, long timeoutMillis) {
+		return new CloudinaryGateway(maxConcurrent, 50, Map.of(
+				Operation.UPLOAD, timeoutMillis,
+				Operation.DELETE, timeoutMillis,
+				Operation.BULK_DELETE, timeoutMillis,
+				Operation.LOOKUP, timeoutMillis), breaker);
+	}
+
+	private static String sleep(long millis) throws InterruptedException {
+		Thread.sleep(millis);
+		return "late";
+	}
+}
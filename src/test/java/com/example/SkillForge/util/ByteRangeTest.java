@@ -0,0 +1,65 @@
+package com.example.SkillForge.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangeTest {
+
+	private static final long SIZE = 1000;
+
+	@Test
+	void closedRangeIsClampedToTheResource() {
+		assertRange(ByteRange.parse("bytes=0-99", SIZE), 0, 99);
+		assertRange(ByteRange.parse("bytes=900-5000", SIZE), 900, 999);
+		assertRange(ByteRange.parse("bytes=5-5", SIZE), 5, 5);
+	}
+
+	@Test
+	void openEndedRangeRunsToTheLastByte() {
+		ByteRange range = ByteRange.parse("bytes=100-", SIZE);
+
+		assertRange(range, 100, 999);
+		assertEquals("bytes 100-999/1000", range.contentRange(SIZE));
+	}
+
+	@Test
+	void suffixRangeSelectsTheLastBytes() {
+		assertRange(ByteRange.parse("bytes=-200", SIZE), 800, 999);
+		assertRange(ByteRange.parse("bytes=-5000", SIZE), 0, 999);
+	}
+
+	@Test
+	void reversedRangeIsIgnored() {
+		assertNull(ByteRange.parse("bytes=5-4", SIZE));
+		assertNull(ByteRange.parse("bytes=500-10", SIZE));
+	}
+
+	@Test
+	void multipleRangesGetTheWholeResource() {
+		assertNull(ByteRange.parse("bytes=0-99,200-299", SIZE));
+	}
+
+	@Test
+	void malformedOrMissingHeaderIsIgnored() {
+		assertNull(ByteRange.parse(null, SIZE));
+		assertNull(ByteRange.parse("items=0-10", SIZE));
+		assertNull(ByteRange.parse("bytes=abc-10", SIZE));
+		assertNull(ByteRange.parse("bytes=10", SIZE));
+	}
+
+	@Test
+	void rangeOutsideTheResourceIsUnsatisfiable() {
+		assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=1000-", SIZE));
+		assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=2000-3000", SIZE));
+		assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=-0", SIZE));
+		assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=-10", 0));
+	}
+
+	private static void assertRange(ByteRange range, long start, long end) {
+		assertNotNull(range);
+		assertEquals(start, range.getStart());
+		assertEquals(end, range.getEnd());
+		assertEquals(end - start + 1, range.length());
+	}
+}